@@ -0,0 +1,44 @@
+package com.jrelay.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jrelay.core.models.response.ContentDisplayType;
+
+/**
+ * Cost of classifying a {@code Content-Type} header, from a type matched by the
+ * first entry to one that falls through every entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentDisplayTypeBenchmark {
+
+    @Param({
+            "application/json",
+            "application/json; charset=utf-8",
+            "application/vnd.api+json",
+            "text/html; charset=ISO-8859-1",
+            "image/png",
+            "application/x-unknown"
+    })
+    public String contentType;
+
+    @Benchmark
+    public ContentDisplayType detect() {
+        return ContentDisplayType.detect(contentType);
+    }
+}
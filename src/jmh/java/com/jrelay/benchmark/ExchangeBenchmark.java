@@ -0,0 +1,80 @@
+package com.jrelay.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.models.response.Response;
+import com.jrelay.core.service.HttpClientService;
+import com.jrelay.core.service.HttpClientServiceImpl;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * Full round trip through {@link HttpClientServiceImpl} against a local
+ * {@link MockWebServer}: request building, the shared OkHttp client, the
+ * phase timer and response parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = Fixtures.HOME)
+public class ExchangeBenchmark {
+
+    @Param({ "1024", "1048576" })
+    public int size;
+
+    private MockWebServer server;
+    private HttpClientService service;
+    private Request request;
+
+    @Setup
+    public void setup() throws IOException {
+        Fixtures.init();
+        byte[] payload = Fixtures.json(size);
+        server = new MockWebServer();
+        server.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @NotNull
+            @Override
+            public MockResponse dispatch(@NotNull RecordedRequest recorded) {
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json; charset=utf-8")
+                        .setBody(new Buffer().write(payload));
+            }
+        });
+        server.start();
+
+        service = new HttpClientServiceImpl();
+        request = new Request();
+        request.setUrl(server.url("/api/v1/resources").toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Benchmark
+    public Response send() {
+        return service.sendAsync(request).join();
+    }
+}
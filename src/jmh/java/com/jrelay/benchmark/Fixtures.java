@@ -0,0 +1,109 @@
+package com.jrelay.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jrelay.core.models.Collection;
+import com.jrelay.core.models.Preference;
+import com.jrelay.core.models.request.HttpHeader;
+import com.jrelay.core.models.request.Method;
+import com.jrelay.core.models.request.QueryParameter;
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.models.request.body.JsonBody;
+import com.jrelay.core.utils.i18n.LangManager;
+
+/**
+ * Data shared by the benchmarks.
+ * <p>
+ * Forked benchmark JVMs run with {@link #HOME} as their home directory, so the
+ * repositories and the response spool write under {@code target} instead of
+ * the real application data directory.
+ */
+final class Fixtures {
+
+    static final String HOME = "-Duser.home=target/jmh-home";
+
+    private Fixtures() {
+    }
+
+    /**
+     * Loads the English bundle, which {@link Request} needs for its default
+     * name.
+     */
+    static void init() {
+        LangManager.loadBundle(Preference.Lang.EN);
+    }
+
+    /**
+     * Builds a JSON array of objects that is exactly {@code size} bytes long
+     * when encoded as UTF-8, padded with spaces.
+     */
+    static byte[] json(int size) {
+        StringBuilder sb = new StringBuilder(size);
+        sb.append('[');
+        int i = 0;
+        String separator = "";
+        while (true) {
+            String item = separator + "{\"id\":" + i + ",\"name\":\"item-" + i
+                    + "\",\"active\":" + (i % 2 == 0) + ",\"score\":" + (i * 0.5) + "}";
+            if (sb.length() + item.length() + 1 > size) {
+                break;
+            }
+            sb.append(item);
+            separator = ",";
+            i++;
+        }
+        sb.append(']');
+        while (sb.length() < size) {
+            sb.append(' ');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a temporary file of {@code size} bytes that is deleted when the
+     * JVM exits.
+     */
+    static Path file(String suffix, int size) throws IOException {
+        Path file = Files.createTempFile("jrelay-bench-", suffix);
+        file.toFile().deleteOnExit();
+        Files.write(file, new byte[size]);
+        return file;
+    }
+
+    /**
+     * Builds {@code count} collections of {@code requestsPerCollection} JSON
+     * requests with a few parameters and headers each, roughly the shape of a
+     * real workspace.
+     */
+    static List<Collection> collections(int count, int requestsPerCollection) {
+        List<Collection> collections = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            List<Request> requests = new ArrayList<>(requestsPerCollection);
+            Collection collection = new Collection("Collection " + c, requests);
+            for (int r = 0; r < requestsPerCollection; r++) {
+                Request request = new Request();
+                request.setIdCollection(collection.getId());
+                request.setName("Request " + c + "." + r);
+                request.setMethod(r % 2 == 0 ? Method.GET : Method.POST);
+                request.setUrl("https://{{host}}/api/v1/resources/" + r + "?page={{page}}");
+                request.setParams(new ArrayList<>(List.of(
+                        new QueryParameter(true, "page", "{{page}}"),
+                        new QueryParameter(true, "limit", "50"))));
+                request.setHeaders(new ArrayList<>(List.of(
+                        new HttpHeader(true, "Accept", "application/json"),
+                        new HttpHeader(true, "X-Request-Id", "{{requestId}}"))));
+                if (r % 2 == 1) {
+                    request.setBody(new JsonBody("{\"name\":\"{{name}}\",\"index\":" + r + "}"));
+                }
+                requests.add(request);
+            }
+            collections.add(collection);
+        }
+        return collections;
+    }
+}
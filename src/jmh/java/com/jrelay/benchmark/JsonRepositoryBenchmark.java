@@ -0,0 +1,59 @@
+package com.jrelay.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.jrelay.core.models.Collection;
+import com.jrelay.core.repository.JsonRepository;
+
+/**
+ * Cost of reading and writing the collections file at workspace sizes well
+ * beyond the usual, with 50 requests per collection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = Fixtures.HOME)
+public class JsonRepositoryBenchmark {
+
+    private static final int REQUESTS_PER_COLLECTION = 50;
+
+    @Param({ "1000", "10000" })
+    public int requests;
+
+    private JsonRepository<List<Collection>> repository;
+
+    @Setup
+    public void setup() {
+        Fixtures.init();
+        repository = new JsonRepository<>("benchmark-collections-" + requests + ".json", new TypeReference<>() {
+        });
+        repository.setEntity(Fixtures.collections(requests / REQUESTS_PER_COLLECTION, REQUESTS_PER_COLLECTION));
+        repository.flush();
+    }
+
+    @Benchmark
+    public List<Collection> load() {
+        return repository.loadOrDefault(null);
+    }
+
+    @Benchmark
+    public void save() {
+        repository.save();
+    }
+}
@@ -0,0 +1,57 @@
+package com.jrelay.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jrelay.core.builder.auth.OAuth1AuthStrategy;
+import com.jrelay.core.models.request.auth.OAuth1Auth;
+import com.jrelay.core.models.request.auth.OAuth1Auth.AddAuthDataTo;
+import com.jrelay.core.models.request.auth.OAuth1Auth.SignatureMethod;
+
+import okhttp3.Request;
+
+/**
+ * Cost of signing a request with OAuth 1.0a for each signature method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OAuth1AuthStrategyBenchmark {
+
+    @Param({ "HMAC_SHA1", "HMAC_SHA256", "PLAINTEXT" })
+    public SignatureMethod signatureMethod;
+
+    private final OAuth1AuthStrategy strategy = new OAuth1AuthStrategy();
+    private OAuth1Auth auth;
+    private Request.Builder builder;
+
+    @Setup
+    public void setup() {
+        auth = new OAuth1Auth(AddAuthDataTo.REQUEST_HEADERS, signatureMethod,
+                "consumer-key", "consumer-secret", "access-token", "token-secret",
+                null, null, null, null, "1.0", "Example", false, false);
+        builder = new Request.Builder()
+                .url("http://localhost:8080/api/v1/resources?page=1&limit=50")
+                .header("Accept", "application/json");
+    }
+
+    @Benchmark
+    public Request.Builder applyAuth() {
+        strategy.applyAuth(builder, auth);
+        return builder;
+    }
+}
@@ -0,0 +1,101 @@
+package com.jrelay.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jrelay.core.builder.RequestBuilder;
+import com.jrelay.core.builder.RequestBuilder.RequestBuildResult;
+import com.jrelay.core.models.request.HttpHeader;
+import com.jrelay.core.models.request.Method;
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.models.request.body.BinaryBody;
+import com.jrelay.core.models.request.body.Body;
+import com.jrelay.core.models.request.body.FormDataBody;
+import com.jrelay.core.models.request.body.FormDataBody.FormDataPart;
+import com.jrelay.core.models.request.body.FormDataBody.FormDataPart.PartType;
+import com.jrelay.core.models.request.body.FormEncodeBody;
+import com.jrelay.core.models.request.body.FormEncodeBody.FormEncodePart;
+import com.jrelay.core.models.request.body.JsonBody;
+import com.jrelay.core.models.request.body.PlainTextBody;
+import com.jrelay.core.models.request.body.XmlBody;
+
+/**
+ * Cost of turning a saved request into an OkHttp request, for every body type.
+ * <p>
+ * Only the request is built; nothing is sent and file bodies are not read, so
+ * this measures header handling, body wrapping and, for files, the content
+ * type probe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = Fixtures.HOME)
+public class RequestBuilderBenchmark {
+
+    @Param({ "NONE", "JSON", "XML", "TEXT", "FORM_ENCODED", "FORM_DATA", "BINARY" })
+    public String body;
+
+    private Request request;
+
+    @Setup
+    public void setup() throws IOException {
+        Fixtures.init();
+        request = new Request();
+        request.setMethod(body.equals("NONE") ? Method.GET : Method.POST);
+        request.setUrl("http://localhost:8080/api/v1/resources?page=1&limit=50");
+        request.setHeaders(new ArrayList<>(List.of(
+                new HttpHeader(true, "Accept", "application/json"),
+                new HttpHeader(true, "X-Request-Id", "5f0c6f1e-1d2b-4c55-9a53-0e3c1b8a6f10"))));
+        request.setBody(body());
+    }
+
+    private Body body() throws IOException {
+        String json = new String(Fixtures.json(4 * 1024), StandardCharsets.UTF_8);
+        return switch (body) {
+            case "NONE" -> null;
+            case "JSON" -> new JsonBody(json);
+            case "XML" -> new XmlBody("<items>" + "<item id=\"1\">value</item>".repeat(150) + "</items>");
+            case "TEXT" -> new PlainTextBody(json);
+            case "FORM_ENCODED" -> {
+                List<FormEncodePart> parts = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    parts.add(new FormEncodePart("field" + i, "value " + i + " & more"));
+                }
+                yield new FormEncodeBody(parts);
+            }
+            case "FORM_DATA" -> {
+                List<FormDataPart> parts = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    parts.add(new FormDataPart("field" + i, PartType.TEXT, "value " + i));
+                }
+                parts.add(new FormDataPart("upload", PartType.FILE,
+                        Fixtures.file(".json", 64 * 1024).toString()));
+                yield new FormDataBody(parts);
+            }
+            case "BINARY" -> new BinaryBody(Fixtures.file(".bin", 1024 * 1024).toString());
+            default -> throw new IllegalArgumentException("Unknown body: " + body);
+        };
+    }
+
+    @Benchmark
+    public RequestBuildResult build() {
+        return RequestBuilder.build(request);
+    }
+}
@@ -0,0 +1,80 @@
+package com.jrelay.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jrelay.core.builder.ResponseParser;
+import com.jrelay.core.models.response.FileResponseBody;
+import com.jrelay.core.models.response.Response;
+
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Okio;
+
+/**
+ * Cost of reading a response body into the application model.
+ * <p>
+ * The body is streamed from memory rather than a socket so that only the
+ * parser is measured. Bodies above the spill threshold, such as the 100 MB
+ * case, are written to a spool file, which is deleted again inside the
+ * measured operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { Fixtures.HOME, "-Xmx1g" })
+public class ResponseParserBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    @Param({ "1024", "1048576", "104857600" })
+    public int size;
+
+    private byte[] payload;
+    private Request request;
+
+    @Setup
+    public void setup() {
+        Fixtures.init();
+        payload = Fixtures.json(size);
+        request = new Request.Builder().url("http://localhost/resources").build();
+    }
+
+    @Benchmark
+    public Response parse() throws IOException {
+        ResponseBody body = ResponseBody.create(
+                Okio.buffer(Okio.source(new ByteArrayInputStream(payload))), JSON, payload.length);
+        okhttp3.Response raw = new okhttp3.Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .header("Content-Type", JSON.toString())
+                .header("Content-Length", Integer.toString(payload.length))
+                .body(body)
+                .build();
+        Response response = ResponseParser.parse(raw, 0);
+        if (response.body() instanceof FileResponseBody file) {
+            Files.deleteIfExists(file.getPath());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jrelay.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jrelay.core.utils.StringUtils;
+
+/**
+ * Cost of substituting environment variables into request text: a URL that
+ * hits the template cache, a text without placeholders and a body too large
+ * to be cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+    @Param({ "URL", "PLAIN", "LARGE_BODY" })
+    public String input;
+
+    private String text;
+    private Map<String, String> variables;
+
+    @Setup
+    public void setup() {
+        variables = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            variables.put("var" + i, "value-" + i);
+        }
+        variables.put("host", "api.example.com");
+        variables.put("version", "v1");
+        variables.put("id", "42");
+
+        text = switch (input) {
+            case "URL" -> "https://{{host}}/{{version}}/resources/{{id}}?filter={{var1}}&sort={{var2}}";
+            case "PLAIN" -> "https://api.example.com/v1/resources/42?filter=active&sort=name";
+            case "LARGE_BODY" -> {
+                StringBuilder sb = new StringBuilder("[");
+                for (int i = 0; i < 2_000; i++) {
+                    sb.append(i == 0 ? "" : ",")
+                            .append("{\"id\":").append(i)
+                            .append(",\"name\":\"{{var").append(i % 60).append("}}\"}");
+                }
+                yield sb.append(']').toString();
+            }
+            default -> throw new IllegalArgumentException("Unknown input: " + input);
+        };
+    }
+
+    @Benchmark
+    public String replaceVariables() {
+        return StringUtils.replaceVariables(text, variables);
+    }
+}
@@ -2,10 +2,16 @@ package com.jrelay;
 
 import javax.swing.SwingUtilities;
 
+import com.jrelay.cli.Cli;
 import com.jrelay.ui.controllers.AppController;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0) {
+            // Any argument selects the headless runner; the UI is never loaded.
+            Cli.main(args);
+            return;
+        }
         SwingUtilities.invokeLater(() -> {
             final var app = new AppController();
             app.run();
@@ -0,0 +1,215 @@
+package com.jrelay.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.jrelay.core.controller.CollectionController;
+import com.jrelay.core.controller.EnvironmentController;
+import com.jrelay.core.models.Collection;
+import com.jrelay.core.models.Environment;
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.os.OsManager;
+import com.jrelay.core.service.CollectionRunner;
+import com.jrelay.core.service.CollectionRunner.Options;
+import com.jrelay.core.service.CollectionRunner.Summary;
+import com.jrelay.core.service.HttpClientServiceImpl;
+import com.jrelay.core.service.VirtualThreadHttpClientService;
+import com.jrelay.core.utils.i18n.LangManager;
+
+/**
+ * Headless entry point that runs saved requests without starting the UI.
+ * <p>
+ * Collections and environments are read from the same files as the desktop
+ * application through the core repositories, and requests are sent with
+ * {@link HttpClientServiceImpl}, or {@link VirtualThreadHttpClientService}
+ * when several run at once, by a {@link CollectionRunner}. Nothing here
+ * touches Swing, FlatLaf or AWT, so the process starts quickly and can run in
+ * CI pipelines and cron jobs on machines without a display.
+ * <p>
+ * The exit status is {@code 0} when every request succeeded, {@code 1} when
+ * any failed and {@code 2} for usage errors.
+ */
+public final class Cli {
+
+    private static final int OK = 0;
+    private static final int FAILED = 1;
+    private static final int USAGE = 2;
+
+    private static final String HELP = """
+            Usage:
+              jrelay run <collection> [options]   Run a collection, or one of its requests
+              jrelay list                         List collections and requests
+
+            Options:
+              -r, --request <name|id>       run only this request of the collection
+              -e, --env <name|id>           substitute the variables of this environment
+              -f, --format <jsonl|junit>    result format (default: jsonl)
+              -o, --output <file>           write results to a file instead of stdout
+              -c, --concurrency <n>         requests in flight at once (default: 1)
+            """;
+
+    private Cli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs the command described by {@code args}.
+     *
+     * @param args the command line
+     * @param out  where results are written unless {@code --output} is given
+     * @param err  where usage errors are written
+     * @return the process exit status
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        if (args.length == 0 || args[0].equals("-h") || args[0].equals("--help")) {
+            out.print(HELP);
+            return args.length == 0 ? USAGE : OK;
+        }
+        LangManager.loadBundle(OsManager.getInstance().getLanguage());
+        try {
+            return switch (args[0]) {
+                case "run" -> runCollection(parse(args), out);
+                case "list" -> list(out);
+                default -> throw new UsageException("Unknown command: " + args[0]);
+            };
+        } catch (UsageException e) {
+            err.println(e.getMessage());
+            err.print(HELP);
+            return USAGE;
+        } catch (IOException e) {
+            err.println(e.getMessage());
+            return FAILED;
+        }
+    }
+
+    private static int runCollection(Arguments arguments, PrintStream stdout) throws IOException {
+        CollectionController collections = new CollectionController();
+        Collection collection = find(collections.findAll(), arguments.collection(),
+                Collection::getId, Collection::getName, "collection");
+        if (arguments.request() != null) {
+            Request request = find(collection.getRequests(), arguments.request(),
+                    Request::getIdRequest, Request::getName, "request");
+            collection = new Collection(collection.getName(), List.of(request));
+        }
+
+        Map<String, String> variables = Map.of();
+        if (arguments.environment() != null) {
+            EnvironmentController environments = new EnvironmentController();
+            Environment environment = find(environments.findAll(), arguments.environment(),
+                    Environment::getId, Environment::getName, "environment");
+            variables = environments.findVariablesByEnvironment(environment);
+        }
+
+        OutputStream target = arguments.output() != null ? Files.newOutputStream(arguments.output()) : stdout;
+        try {
+            Reporter reporter = arguments.junit() ? new JUnitReporter(target) : new JsonLinesReporter(target);
+            Options options = new Options(arguments.concurrency(), arguments.concurrency() > 1);
+            CollectionRunner runner = new CollectionRunner(options.virtualThreads()
+                    ? new VirtualThreadHttpClientService()
+                    : new HttpClientServiceImpl(), options);
+            Summary summary = runner.start(collection, variables, result -> {
+                try {
+                    reporter.result(result);
+                } catch (IOException e) {
+                    System.err.println(e.getMessage());
+                }
+            }).join();
+            reporter.finish(collection.getName(), summary);
+            return summary.failed() == 0 ? OK : FAILED;
+        } finally {
+            if (target != stdout) {
+                target.close();
+            }
+        }
+    }
+
+    private static int list(PrintStream out) {
+        for (Collection collection : new CollectionController().findAll()) {
+            out.println(collection.getName() + "  (" + collection.getId() + ")");
+            for (Request request : collection.getRequests()) {
+                out.println("  " + request.getMethod() + " " + request.getName() + "  (" + request.getIdRequest()
+                        + ")");
+            }
+        }
+        return OK;
+    }
+
+    /**
+     * Finds an item by id, then by exact name, then by name ignoring case.
+     */
+    private static <T> T find(List<T> items, String key, Function<T, String> id, Function<T, String> name,
+            String kind) {
+        List<T> all = items != null ? items : List.of();
+        return all.stream().filter(item -> key.equals(id.apply(item))).findFirst()
+                .or(() -> all.stream().filter(item -> key.equals(name.apply(item))).findFirst())
+                .or(() -> all.stream().filter(item -> key.equalsIgnoreCase(name.apply(item))).findFirst())
+                .orElseThrow(() -> new UsageException("No " + kind + " named " + key));
+    }
+
+    private static Arguments parse(String[] args) {
+        String request = null;
+        String environment = null;
+        String format = "jsonl";
+        Path output = null;
+        int concurrency = 1;
+        List<String> positional = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "-r", "--request" -> request = value(args, ++i);
+                case "-e", "--env" -> environment = value(args, ++i);
+                case "-f", "--format" -> format = value(args, ++i);
+                case "-o", "--output" -> output = Path.of(value(args, ++i));
+                case "-c", "--concurrency" -> {
+                    try {
+                        concurrency = Integer.parseInt(value(args, ++i));
+                    } catch (NumberFormatException e) {
+                        throw new UsageException("Concurrency must be a number");
+                    }
+                    if (concurrency < 1) {
+                        throw new UsageException("Concurrency must be at least 1");
+                    }
+                }
+                default -> {
+                    if (args[i].startsWith("-")) {
+                        throw new UsageException("Unknown option: " + args[i]);
+                    }
+                    positional.add(args[i]);
+                }
+            }
+        }
+        if (positional.size() != 1) {
+            throw new UsageException("Expected one collection name or id");
+        }
+        if (!format.equals("jsonl") && !format.equals("junit")) {
+            throw new UsageException("Unknown format: " + format);
+        }
+        return new Arguments(positional.getFirst(), request, environment, format.equals("junit"), output, concurrency);
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new UsageException("Missing value for " + args[i - 1]);
+        }
+        return args[i];
+    }
+
+    private record Arguments(String collection, String request, String environment, boolean junit, Path output,
+            int concurrency) {
+    }
+
+    private static final class UsageException extends RuntimeException {
+        private UsageException(String message) {
+            super(message);
+        }
+    }
+}
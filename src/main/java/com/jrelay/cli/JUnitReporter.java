@@ -0,0 +1,84 @@
+package com.jrelay.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.jrelay.core.service.CollectionRunner.Result;
+import com.jrelay.core.service.CollectionRunner.Summary;
+
+/**
+ * Writes a JUnit XML report, the format most CI servers read natively. The
+ * collection is one {@code testsuite} and each request one {@code testcase};
+ * HTTP error statuses are reported as failures and requests that got no
+ * response as errors. Nothing is written until the run finishes.
+ */
+final class JUnitReporter implements Reporter {
+
+    private final OutputStream out;
+
+    JUnitReporter(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void result(Result result) {
+        //
+    }
+
+    @Override
+    public void finish(String suite, Summary summary) throws IOException {
+        long errors = summary.results().stream().filter(r -> r.status() == 0).count();
+        long failures = summary.failed() - errors;
+        try {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("testsuite");
+            xml.writeAttribute("name", suite);
+            xml.writeAttribute("tests", String.valueOf(summary.results().size()));
+            xml.writeAttribute("failures", String.valueOf(failures));
+            xml.writeAttribute("errors", String.valueOf(errors));
+            xml.writeAttribute("time", seconds(summary.elapsed()));
+            xml.writeCharacters("\n");
+            for (Result result : summary.results()) {
+                xml.writeCharacters("  ");
+                xml.writeStartElement("testcase");
+                xml.writeAttribute("classname", suite);
+                xml.writeAttribute("name", result.request().getName());
+                xml.writeAttribute("time", seconds(result.latency()));
+                if (result.status() == 0) {
+                    xml.writeStartElement("error");
+                    xml.writeAttribute("message", String.valueOf(result.error()));
+                    xml.writeEndElement();
+                } else if (!result.isSuccess()) {
+                    xml.writeStartElement("failure");
+                    xml.writeAttribute("message", "HTTP " + result.status());
+                    xml.writeEndElement();
+                }
+                xml.writeStartElement("system-out");
+                xml.writeCharacters(result.request().getMethod().name() + " " + result.request().getUrl()
+                        + " -> " + result.status());
+                xml.writeEndElement();
+                xml.writeEndElement();
+                xml.writeCharacters("\n");
+            }
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndDocument();
+            xml.flush();
+            xml.close();
+            out.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Error writing JUnit report", e);
+        }
+    }
+
+    private static String seconds(double millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.jrelay.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jrelay.core.service.CollectionRunner.Result;
+import com.jrelay.core.service.CollectionRunner.Summary;
+
+/**
+ * Writes one JSON object per line: a {@code result} line as each request
+ * finishes, in completion order, and a final {@code summary} line. Lines are
+ * flushed as they are written so the output can be followed while the run is
+ * in progress.
+ */
+final class JsonLinesReporter implements Reporter {
+
+    private final JsonGenerator generator;
+
+    JsonLinesReporter(OutputStream out) throws IOException {
+        this.generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public synchronized void result(Result result) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "result");
+        generator.writeNumberField("index", result.index());
+        generator.writeStringField("name", result.request().getName());
+        generator.writeStringField("method", result.request().getMethod().name());
+        generator.writeStringField("url", result.request().getUrl());
+        generator.writeNumberField("status", result.status());
+        generator.writeNumberField("latency", result.latency());
+        generator.writeNumberField("size", result.size());
+        generator.writeBooleanField("success", result.isSuccess());
+        if (result.error() != null) {
+            generator.writeStringField("error", result.error());
+        }
+        generator.writeEndObject();
+        endLine();
+    }
+
+    @Override
+    public synchronized void finish(String suite, Summary summary) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "summary");
+        generator.writeStringField("collection", suite);
+        generator.writeNumberField("total", summary.results().size());
+        generator.writeNumberField("failed", summary.failed());
+        generator.writeNumberField("elapsed", summary.elapsed());
+        generator.writeNumberField("throughput", summary.throughput());
+        generator.writeEndObject();
+        endLine();
+        generator.close();
+    }
+
+    private void endLine() throws IOException {
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+}
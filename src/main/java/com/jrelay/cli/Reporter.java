@@ -0,0 +1,27 @@
+package com.jrelay.cli;
+
+import java.io.IOException;
+
+import com.jrelay.core.service.CollectionRunner.Result;
+import com.jrelay.core.service.CollectionRunner.Summary;
+
+/**
+ * Writes the results of a headless run in a machine-readable format.
+ */
+interface Reporter {
+
+    /**
+     * Called from a worker thread as each request finishes.
+     *
+     * @param result the outcome of the request
+     */
+    void result(Result result) throws IOException;
+
+    /**
+     * Called once the whole run finished.
+     *
+     * @param suite   the name of the collection that was run
+     * @param summary the results in collection order
+     */
+    void finish(String suite, Summary summary) throws IOException;
+}
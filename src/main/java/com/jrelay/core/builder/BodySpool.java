@@ -0,0 +1,89 @@
+package com.jrelay.core.builder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import com.jrelay.core.models.Preference;
+import com.jrelay.core.os.OsManager;
+
+/**
+ * Decides when response bodies leave the heap and where they are spooled.
+ * <p>
+ * Bodies larger than {@link #getThreshold()} bytes are written to temporary
+ * files under the {@code responses} folder of the application data directory.
+ * The files are deleted when the JVM exits; files left behind by a crashed
+ * session are removed by {@link #purgeStale()}.
+ */
+public class BodySpool {
+
+    private static final String DIRECTORY = "responses";
+
+    private static final Duration STALE_AFTER = Duration.ofDays(1);
+
+    private static volatile long threshold = Preference.DEFAULT_SPILL_THRESHOLD;
+
+    private BodySpool() {
+    }
+
+    public static long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sets the size in bytes above which bodies are spooled to disk.
+     *
+     * @param bytes the new threshold; values below zero restore the default
+     */
+    public static void setThreshold(long bytes) {
+        threshold = bytes < 0 ? Preference.DEFAULT_SPILL_THRESHOLD : bytes;
+    }
+
+    /**
+     * Creates an empty spool file.
+     *
+     * @return the path of the new file
+     * @throws IOException if the file cannot be created
+     */
+    static Path createFile() throws IOException {
+        Path dir = directory();
+        Files.createDirectories(dir);
+        Path file = Files.createTempFile(dir, "body-", ".tmp");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+
+    /**
+     * Deletes spool files older than a day, which can only belong to sessions
+     * that did not shut down cleanly.
+     */
+    public static void purgeStale() {
+        Path dir = directory();
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        FileTime limit = FileTime.from(Instant.now().minus(STALE_AFTER));
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                try {
+                    if (Files.getLastModifiedTime(file).compareTo(limit) < 0) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static Path directory() {
+        return Paths.get(OsManager.getInstance().appDataDir(), DIRECTORY);
+    }
+}
@@ -1,8 +1,20 @@
 package com.jrelay.core.builder;
 
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+import com.jrelay.core.models.request.HttpVersion;
+import com.jrelay.core.os.OsManager;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.brotli.BrotliInterceptor;
 
 /**
@@ -11,6 +23,20 @@ import okhttp3.brotli.BrotliInterceptor;
  * Lazily initializes the HTTP client with predefined connection, read,
  * and write timeouts to ensure consistent network request behavior
  * across the application.
+ * <p>
+ * Every caller shares the same {@link ConnectionPool} and {@link Dispatcher},
+ * sized by the current {@link PoolConfig}. Changing the configuration swaps in a
+ * rebuilt client atomically; calls already running finish on the previous one.
+ * <p>
+ * Requests pinned to an {@link HttpVersion} are sent with a variant of the
+ * client restricted to that protocol, see {@link #forVersion}.
+ * <p>
+ * An optional disk {@link Cache} can be attached with {@link #configureCache};
+ * it lives in the {@code http-cache} folder of the application data directory
+ * and evicts the least recently used responses beyond its size limit. Only one
+ * {@link Cache} is ever opened on that folder: it is kept open for the rest of
+ * the session and attached or detached as caching is turned on and off, so
+ * calls still running on a previous client never meet a closed cache.
  *
  * @author ASDFG14N
  * @since 14-08-2025
@@ -21,7 +47,13 @@ public class HttpClient {
     private HttpClient() {
     }
 
-    private static OkHttpClient instance;
+    private static volatile OkHttpClient instance;
+    private static final String CACHE_DIRECTORY = "http-cache";
+
+    private static PoolConfig config = PoolConfig.DEFAULT;
+    private static volatile Cache cache;
+    private static volatile boolean cacheEnabled;
+    private static volatile Variants variants = new Variants(null, Map.of());
 
     /**
      * Returns the singleton {@link OkHttpClient} instance.
@@ -37,14 +69,185 @@ public class HttpClient {
      */
 
     public static OkHttpClient getInstance() {
-        if (instance == null) {
-            instance = new OkHttpClient.Builder()
-                    .addInterceptor(BrotliInterceptor.INSTANCE)
-                    .connectTimeout(15, TimeUnit.SECONDS)
-                    .readTimeout(30, TimeUnit.SECONDS)
-                    .writeTimeout(20, TimeUnit.SECONDS)
-                    .build();
-        }
-        return instance;
+        OkHttpClient client = instance;
+        if (client == null) {
+            synchronized (HttpClient.class) {
+                client = instance;
+                if (client == null) {
+                    client = build(config);
+                    instance = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Applies a new connection pool and dispatcher configuration.
+     * <p>
+     * If a client already exists it is replaced by one built from
+     * {@code newConfig}, and the idle connections of the old pool are closed.
+     *
+     * @param newConfig the pool and dispatcher limits to use
+     */
+    public static synchronized void configure(PoolConfig newConfig) {
+        if (newConfig.equals(config)) {
+            return;
+        }
+        config = newConfig;
+        OkHttpClient previous = instance;
+        if (previous != null) {
+            instance = build(newConfig);
+            previous.connectionPool().evictAll();
+        }
+    }
+
+    /**
+     * Attaches a disk cache of at most {@code maxBytes} to the shared client, or
+     * detaches it when {@code maxBytes} is not positive.
+     * <p>
+     * The cache is opened the first time it is attached and is never closed,
+     * so stored responses are kept when it is detached and enabling it again
+     * serves them as before. Its size limit is fixed once it is open; a
+     * different {@code maxBytes} takes effect from the next session.
+     *
+     * @param maxBytes the size limit of the cache in bytes
+     */
+    public static synchronized void configureCache(long maxBytes) {
+        boolean enable = maxBytes > 0;
+        if (enable && cache == null) {
+            cache = new Cache(cacheDirectory(), maxBytes);
+        }
+        if (enable == cacheEnabled) {
+            return;
+        }
+        cacheEnabled = enable;
+        if (instance != null) {
+            // Keeps the pool and dispatcher, so open connections stay usable.
+            instance = instance.newBuilder().cache(enable ? cache : null).build();
+        }
+    }
+
+    /**
+     * @return whether responses are currently cached on disk
+     */
+    public static boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    private static File cacheDirectory() {
+        return Paths.get(OsManager.getInstance().appDataDir(), CACHE_DIRECTORY).toFile();
+    }
+
+    /**
+     * Returns a client that speaks only the protocols allowed by {@code version}.
+     * <p>
+     * The variant shares the connection pool and dispatcher of {@code client};
+     * OkHttp keys pooled connections by their protocols, so an HTTP/1.1-only
+     * request never reuses an HTTP/2 connection and vice versa. Variants of the
+     * shared client are cached together with the client they were built from,
+     * so once {@link #configure} or {@link #configureCache} replaces it, callers
+     * holding the new client never get a variant of the old one.
+     *
+     * @param client  the client to restrict
+     * @param version the version to allow; {@code null} or {@code AUTO} keeps
+     *                ALPN negotiation
+     * @return {@code client} itself if it already matches, otherwise a variant
+     */
+    public static OkHttpClient forVersion(OkHttpClient client, HttpVersion version) {
+        if (version == null || version == HttpVersion.AUTO) {
+            return client;
+        }
+        List<Protocol> protocols = switch (version) {
+            case HTTP_1_1 -> List.of(Protocol.HTTP_1_1);
+            case H2_PRIOR_KNOWLEDGE -> List.of(Protocol.H2_PRIOR_KNOWLEDGE);
+            case AUTO -> client.protocols();
+        };
+        if (client.protocols().equals(protocols)) {
+            return client;
+        }
+        Variants current = variants;
+        if (current.base() != client) {
+            synchronized (HttpClient.class) {
+                if (client != instance) {
+                    return client.newBuilder().protocols(protocols).build();
+                }
+                if (variants.base() != client) {
+                    variants = new Variants(client, new ConcurrentHashMap<>());
+                }
+                current = variants;
+            }
+        }
+        return current.clients().computeIfAbsent(version, v -> client.newBuilder().protocols(protocols).build());
+    }
+
+    /**
+     * Returns a snapshot of the shared pool and dispatcher.
+     *
+     * @return the current {@link PoolStats}
+     */
+    public static PoolStats stats() {
+        OkHttpClient client = getInstance();
+        ConnectionPool pool = client.connectionPool();
+        Dispatcher dispatcher = client.dispatcher();
+        return new PoolStats(
+                pool.idleConnectionCount(),
+                pool.connectionCount(),
+                dispatcher.runningCallsCount(),
+                dispatcher.queuedCallsCount());
+    }
+
+    private static OkHttpClient build(PoolConfig config) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.maxRequests());
+        dispatcher.setMaxRequestsPerHost(config.maxRequestsPerHost());
+
+        return new OkHttpClient.Builder()
+                .addInterceptor(BrotliInterceptor.INSTANCE)
+                .connectionPool(new ConnectionPool(
+                        config.maxIdleConnections(), config.keepAliveSeconds(), TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .cache(cacheEnabled ? cache : null)
+                .eventListenerFactory(PhaseTimer.FACTORY)
+                .connectTimeout(15, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .writeTimeout(20, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * The protocol variants built from one shared client.
+     */
+    private record Variants(OkHttpClient base, Map<HttpVersion, OkHttpClient> clients) {
+    }
+
+    /**
+     * Limits for the shared connection pool and dispatcher.
+     *
+     * @param maxIdleConnections the number of idle connections kept alive
+     * @param keepAliveSeconds   how long an idle connection is kept
+     * @param maxRequests        the number of calls executed concurrently
+     * @param maxRequestsPerHost the number of concurrent calls per host
+     */
+    public record PoolConfig(int maxIdleConnections, long keepAliveSeconds, int maxRequests, int maxRequestsPerHost) {
+
+        public static final PoolConfig DEFAULT = new PoolConfig(5, 300, 64, 5);
+
+        public PoolConfig {
+            if (maxIdleConnections < 0 || keepAliveSeconds <= 0 || maxRequests < 1 || maxRequestsPerHost < 1) {
+                throw new IllegalArgumentException("Invalid connection pool configuration");
+            }
+        }
+    }
+
+    /**
+     * Point-in-time counters of the shared client.
+     *
+     * @param idleConnections  pooled connections not carrying a call
+     * @param totalConnections all pooled connections
+     * @param runningCalls     calls being executed
+     * @param queuedCalls      calls waiting for a dispatcher slot
+     */
+    public record PoolStats(int idleConnections, int totalConnections, int runningCalls, int queuedCalls) {
     }
 }
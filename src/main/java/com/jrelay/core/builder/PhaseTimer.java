@@ -0,0 +1,208 @@
+package com.jrelay.core.builder;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.jrelay.core.models.response.ConnectionStats;
+import com.jrelay.core.models.response.Timings;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Records when each phase of a call starts and ends, and how busy the
+ * connection carrying it was.
+ * <p>
+ * A timer is attached to an OkHttp request as a tag; {@link #FACTORY} hands it
+ * to OkHttp as the call's {@link EventListener}, and calls without a timer get
+ * {@link EventListener#NONE}. All events of one call arrive on the thread
+ * executing it, in order.
+ * <p>
+ * Every connection acquired by a timed call is counted while it lives, so a
+ * response can report how many exchanges its connection carried and how many
+ * were multiplexed on it at the same time. Connections used only by untimed
+ * calls are not counted.
+ */
+public final class PhaseTimer extends EventListener {
+
+    public static final EventListener.Factory FACTORY = call -> {
+        PhaseTimer timer = call.request().tag(PhaseTimer.class);
+        return timer != null ? timer : EventListener.NONE;
+    };
+
+    private static final Map<Connection, int[]> STREAMS = new WeakHashMap<>();
+
+    private volatile long callStart;
+    private volatile long dnsStart;
+    private volatile long dnsEnd;
+    private volatile long connectStart;
+    private volatile long secureConnectStart;
+    private volatile long secureConnectEnd;
+    private volatile long connectEnd;
+    private volatile long requestStart;
+    private volatile long requestEnd;
+    private volatile long responseStart;
+    private volatile long responseEnd;
+    private volatile int activeStreams;
+    private volatile int totalStreams;
+
+    /**
+     * Returns a copy of {@code request} that reports its events to this timer.
+     *
+     * @param request the request to instrument
+     * @return the tagged request
+     */
+    public Request attachTo(Request request) {
+        return request.newBuilder().tag(PhaseTimer.class, this).build();
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        dnsEnd = System.nanoTime();
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+        secureConnectStart = 0;
+        secureConnectEnd = 0;
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        secureConnectEnd = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        connectEnd = System.nanoTime();
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+            IOException ioe) {
+        connectEnd = System.nanoTime();
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        synchronized (STREAMS) {
+            int[] counts = STREAMS.computeIfAbsent(connection, c -> new int[2]);
+            activeStreams = ++counts[0];
+            totalStreams = ++counts[1];
+        }
+    }
+
+    @Override
+    public void connectionReleased(Call call, Connection connection) {
+        synchronized (STREAMS) {
+            int[] counts = STREAMS.get(connection);
+            if (counts != null && counts[0] > 0) {
+                counts[0]--;
+            }
+        }
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = System.nanoTime();
+        requestEnd = 0;
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestEnd = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestEnd = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        responseStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        responseEnd = System.nanoTime();
+    }
+
+    /**
+     * Computes the phase durations recorded so far. Phases still in progress
+     * are measured up to now.
+     *
+     * @return the timings of the call
+     */
+    public Timings snapshot() {
+        long now = System.nanoTime();
+        long bodyEnd = responseEnd != 0 ? responseEnd : now;
+        long tcpEnd = secureConnectStart != 0 ? secureConnectStart : connectEnd;
+        return new Timings(
+                span(dnsStart, dnsEnd),
+                span(connectStart, tcpEnd),
+                span(secureConnectStart, secureConnectEnd),
+                span(requestStart, requestEnd),
+                span(requestEnd, responseStart),
+                span(responseStart, bodyEnd),
+                span(callStart, bodyEnd));
+    }
+
+    /**
+     * Describes the connection the call was carried on.
+     *
+     * @param protocol the protocol of the response
+     * @return the protocol and the stream counts seen when the connection was
+     *         acquired
+     */
+    public ConnectionStats connection(Protocol protocol) {
+        return new ConnectionStats(describe(protocol), activeStreams, totalStreams);
+    }
+
+    /**
+     * @param protocol an OkHttp protocol
+     * @return its name as written in a status line, such as {@code HTTP/2}
+     */
+    public static String describe(Protocol protocol) {
+        return switch (protocol) {
+            case HTTP_1_0 -> "HTTP/1.0";
+            case HTTP_1_1 -> "HTTP/1.1";
+            case HTTP_2, H2_PRIOR_KNOWLEDGE -> "HTTP/2";
+            case QUIC -> "HTTP/3";
+            default -> protocol.toString();
+        };
+    }
+
+    private static double span(long start, long end) {
+        if (start == 0 || end == 0 || end < start) {
+            return -1;
+        }
+        return (end - start) / 1_000_000.0;
+    }
+}
@@ -31,6 +31,22 @@ public class RequestBuilder {
 
     private static final RequestBody NO_BODY = RequestBody.create(new byte[0]);
 
+    private static volatile boolean forceNoCache = true;
+
+    /**
+     * Sets whether every request is sent with {@code Cache-Control: no-cache}.
+     * Without it, the disk cache may answer from a fresh stored response.
+     * <p>
+     * OkHttp skips its cache entirely for {@code no-cache} requests, so while the
+     * disk cache is on {@code max-age=0} is sent instead: stored responses are
+     * then revalidated with a conditional request rather than ignored.
+     *
+     * @param force {@code true} to always revalidate
+     */
+    public static void setForceNoCache(boolean force) {
+        forceNoCache = force;
+    }
+
     public static RequestBuildResult build(com.jrelay.core.models.request.Request request) {
         try {
             RequestBuilder.validateUrl(request.getUrl());
@@ -63,7 +79,9 @@ public class RequestBuilder {
     }
 
     private static void addDefaultHeaders(Request.Builder builder) {
-        builder.addHeader("Cache-Control", "no-cache");
+        if (forceNoCache) {
+            builder.addHeader("Cache-Control", HttpClient.isCacheEnabled() ? "max-age=0" : "no-cache");
+        }
         builder.addHeader("User-Agent", UiUtils.APP_NAME + "/" + UiUtils.APP_VERSION);
         builder.addHeader("Accept", "*/*");
         builder.addHeader("Connection", "keep-alive");
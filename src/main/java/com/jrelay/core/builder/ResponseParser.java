@@ -1,27 +1,83 @@
 package com.jrelay.core.builder;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.zip.InflaterInputStream;
+import java.util.zip.Inflater;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jrelay.core.models.response.CacheStatus;
+import com.jrelay.core.models.response.ConnectionStats;
 import com.jrelay.core.models.response.ContentDisplayType;
+import com.jrelay.core.models.response.FileResponseBody;
+import com.jrelay.core.models.response.MemoryResponseBody;
+import com.jrelay.core.models.response.PrettyBody;
+import com.jrelay.core.models.response.ResponseBody;
+
+import okhttp3.MediaType;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.InflaterSource;
+import okio.Okio;
 
 public class ResponseParser {
 
+    private static final long CHUNK_SIZE = 64 * 1024;
+
     private ResponseParser() {
     }
 
     public static com.jrelay.core.models.response.Response parse(okhttp3.Response res, long duration) {
+        return parse(res, duration, ProgressListener.NONE);
+    }
+
+    /**
+     * Converts an OkHttp response into the application {@link Response} model,
+     * streaming the body from the connection.
+     * <p>
+     * The body is read from the OkHttp {@link BufferedSource} in chunks of at
+     * most {@value #CHUNK_SIZE} bytes. Every chunk is counted as it arrives and
+     * reported to {@code listener}, so the UI can show download progress before
+     * the whole payload is available. The chunks are appended to a segmented
+     * buffer and exposed through a {@link ResponseBody} handle; nothing is
+     * decoded to text until the handle is read.
+     * <p>
+     * Once more than {@link BodySpool#getThreshold()} bytes have arrived, the
+     * buffered chunks and the rest of the stream are written to a spool file
+     * instead, and the body is exposed as a {@link FileResponseBody}.
+     * <p>
+     * Text bodies kept in memory get a {@link PrettyBody} that formats them on
+     * demand; nothing is formatted here, so the raw body reaches the UI as soon
+     * as it has been read. Spooled bodies are never reformatted.
+     * <p>
+     * If the request carries a {@link PhaseTimer}, its timings and the stream
+     * counts of the connection are captured once the body has been read and
+     * attached to the response, along with the negotiated protocol. When the
+     * disk cache is on, the response also records whether it was a hit, a miss
+     * or a stored response revalidated with {@code 304 Not Modified}.
+     *
+     * @param res      the OkHttp response
+     * @param duration the elapsed time in milliseconds
+     * @param listener receives byte counts while the body is downloaded
+     * @return the parsed response, or an error response if the body could not be
+     *         read
+     */
+    public static com.jrelay.core.models.response.Response parse(
+            okhttp3.Response res,
+            long duration,
+            ProgressListener listener) {
         Map<String, List<String>> headers = res.headers().names().stream()
                 .collect(Collectors.toMap(name -> name, res::headers, (a, b) -> b));
 
@@ -40,44 +96,119 @@ public class ResponseParser {
         ContentDisplayType displayType = ContentDisplayType.detect(contentType);
 
         try {
-            byte[] rawBytes = res.body() != null ? res.body().bytes() : null;
+            ResponseBody body = readBody(res.body(), contentEncoding, listener);
+            PhaseTimer timer = res.request().tag(PhaseTimer.class);
+            long size = body != null ? body.length() : 0;
 
-            if (rawBytes != null && "deflate".equalsIgnoreCase(contentEncoding)) {
-                try (InflaterInputStream inflater = new InflaterInputStream(new ByteArrayInputStream(rawBytes))) {
-                    rawBytes = inflater.readAllBytes();
-                }
+            PrettyBody pretty = null;
+            if (displayType.isText() && body instanceof MemoryResponseBody memory) {
+                pretty = new PrettyBody(() -> Body.format(memory.text()));
             }
 
-            switch (displayType) {
-                case JSON, XML, YAML, HTML, TEXT, CSV, FORM_URL_ENCODED -> {
-                    String body = rawBytes != null ? new String(rawBytes) : null;
-                    long size = body != null ? body.getBytes().length : 0;
-                    return new com.jrelay.core.models.response.Response(
-                            res.code(),
-                            Duration.format(duration),
-                            Size.format(size),
-                            headers,
-                            Body.format(body),
-                            displayType);
-                }
-                default -> {
-                    long size = rawBytes != null ? rawBytes.length : 0;
-                    return new com.jrelay.core.models.response.Response(
-                            res.code(),
-                            Duration.format(duration),
-                            Size.format(size),
-                            headers,
-                            rawBytes,
-                            displayType);
-                }
-            }
+            return new com.jrelay.core.models.response.Response(
+                    res.code(),
+                    Duration.format(duration),
+                    Size.format(size),
+                    headers,
+                    body,
+                    displayType,
+                    pretty,
+                    timer != null ? timer.snapshot() : null,
+                    timer != null
+                            ? timer.connection(res.protocol())
+                            : new ConnectionStats(PhaseTimer.describe(res.protocol()), 0, 0),
+                    cacheStatus(res));
         } catch (IOException e) {
             return new com.jrelay.core.models.response.Response(
                     "[Error reading body: " + e.getMessage() + "]");
         }
     }
 
-    private static class Size {
+    private static CacheStatus cacheStatus(okhttp3.Response res) {
+        if (res.cacheResponse() != null) {
+            if (res.networkResponse() == null) {
+                return CacheStatus.HIT;
+            }
+            return res.networkResponse().code() == 304 ? CacheStatus.REVALIDATED : CacheStatus.MISS;
+        }
+        return HttpClient.isCacheEnabled() ? CacheStatus.MISS : null;
+    }
+
+    private static ResponseBody readBody(
+            okhttp3.ResponseBody raw,
+            String contentEncoding,
+            ProgressListener listener) throws IOException {
+        if (raw == null) {
+            return null;
+        }
+
+        MediaType mediaType = raw.contentType();
+        Charset charset = mediaType != null ? mediaType.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+        long contentLength = raw.contentLength();
+
+        BufferedSource source = "deflate".equalsIgnoreCase(contentEncoding)
+                ? Okio.buffer(new InflaterSource(raw.source(), new Inflater()))
+                : raw.source();
+
+        try (source) {
+            Buffer buffer = new Buffer();
+            long threshold = BodySpool.getThreshold();
+            long total = 0;
+            long read;
+            while ((read = source.read(buffer, CHUNK_SIZE)) != -1) {
+                total += read;
+                listener.onProgress(total, contentLength);
+                if (total > threshold) {
+                    return spill(source, buffer, total, contentLength, charset, listener);
+                }
+            }
+            return new MemoryResponseBody(buffer.readByteString(), charset);
+        }
+    }
+
+    private static ResponseBody spill(
+            BufferedSource source,
+            Buffer buffer,
+            long total,
+            long contentLength,
+            Charset charset,
+            ProgressListener listener) throws IOException {
+        Path file = BodySpool.createFile();
+        try (BufferedSink sink = Okio.buffer(Okio.sink(file))) {
+            sink.writeAll(buffer);
+            long read;
+            while ((read = source.read(sink.getBuffer(), CHUNK_SIZE)) != -1) {
+                total += read;
+                sink.emitCompleteSegments();
+                listener.onProgress(total, contentLength);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new FileResponseBody(file, total, charset);
+    }
+
+    /**
+     * Receives download progress while a response body is being streamed.
+     * <p>
+     * Called on the thread reading the response, once per chunk.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        ProgressListener NONE = (bytesRead, contentLength) -> {
+        };
+
+        /**
+         * @param bytesRead     the number of body bytes received so far
+         * @param contentLength the advertised body length, or {@code -1} if it is
+         *                      unknown
+         */
+        void onProgress(long bytesRead, long contentLength);
+    }
+
+    public static class Size {
         public static String format(long bytes) {
             if (bytes < 1024)
                 return bytes + " B";
@@ -108,16 +239,30 @@ public class ResponseParser {
 
     private static class Body {
 
-        private static final ObjectMapper objectMapper = new ObjectMapper();
-        private static final ObjectWriter prettyPrinter = objectMapper.writer(new CustomPrettyPrinter());
+        private static final JsonFactory jsonFactory = new ObjectMapper().getFactory();
 
+        /**
+         * Re-indents a JSON body by copying parser tokens straight into a
+         * pretty-printing generator, so the document is read once and no tree or
+         * intermediate string is built. Bodies that are not a single JSON
+         * document are returned unchanged.
+         */
         private static String format(String json) {
-            try {
-                Object obj = objectMapper.readValue(CustomPrettyPrinter.minify(json), Object.class);
-                return prettyPrinter.writeValueAsString(obj);
-            } catch (Exception e) {
+            StringWriter out = new StringWriter(json.length() + (json.length() >> 1));
+            try (JsonParser parser = jsonFactory.createParser(json);
+                    JsonGenerator generator = jsonFactory.createGenerator(out)) {
+                generator.setPrettyPrinter(new CustomPrettyPrinter());
+                if (parser.nextToken() == null) {
+                    return json;
+                }
+                generator.copyCurrentStructure(parser);
+                if (parser.nextToken() != null) {
+                    return json;
+                }
+            } catch (IOException e) {
                 return json;
             }
+            return out.toString();
         }
     }
 
@@ -142,20 +287,5 @@ public class ResponseParser {
                 _arrayIndenter.writeIndentation(g, _nesting);
             }
         }
-
-        private static String minify(String json) {
-            ObjectMapper objectMapper = new ObjectMapper();
-            JsonNode jsonNode = null;
-            try {
-                jsonNode = objectMapper.readTree(json);
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(e);
-            }
-            try {
-                return objectMapper.writeValueAsString(jsonNode);
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(e);
-            }
-        }
     }
 }
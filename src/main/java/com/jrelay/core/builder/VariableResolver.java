@@ -0,0 +1,125 @@
+package com.jrelay.core.builder;
+
+import java.util.List;
+import java.util.Map;
+
+import com.jrelay.core.models.request.HttpHeader;
+import com.jrelay.core.models.request.QueryParameter;
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.models.request.auth.Auth;
+import com.jrelay.core.models.request.auth.BasicAuth;
+import com.jrelay.core.models.request.auth.BearerTokenAuth;
+import com.jrelay.core.models.request.auth.OAuth1Auth;
+import com.jrelay.core.models.request.body.BinaryBody;
+import com.jrelay.core.models.request.body.Body;
+import com.jrelay.core.models.request.body.FormDataBody;
+import com.jrelay.core.models.request.body.FormDataBody.FormDataPart;
+import com.jrelay.core.models.request.body.FormEncodeBody;
+import com.jrelay.core.models.request.body.FormEncodeBody.FormEncodePart;
+import com.jrelay.core.models.request.body.JsonBody;
+import com.jrelay.core.models.request.body.PlainTextBody;
+import com.jrelay.core.models.request.body.XmlBody;
+import com.jrelay.core.utils.Template;
+
+/**
+ * Substitutes {@code {{variable}}} placeholders throughout a request.
+ * <p>
+ * The URL, query parameters, headers, authentication fields and body are all
+ * rendered through cached {@link Template}s against one environment snapshot,
+ * so resolving a request only parses the fields whose text changed since the
+ * last send.
+ */
+public final class VariableResolver {
+
+    private VariableResolver() {
+    }
+
+    /**
+     * Returns a copy of {@code request} with every placeholder replaced.
+     *
+     * @param request   the request as edited
+     * @param variables an immutable snapshot of the environment variables
+     * @return the resolved copy, or {@code request} itself when there are no
+     *         variables
+     */
+    public static Request resolve(Request request, Map<String, String> variables) {
+        if (variables == null || variables.isEmpty()) {
+            return request;
+        }
+        Request resolved = new Request(request);
+        resolved.setUrl(render(request.getUrl(), variables));
+        resolved.setParams(resolveParams(request.getParams(), variables));
+        resolved.setHeaders(resolveHeaders(request.getHeaders(), variables));
+        resolved.setAuth(resolveAuth(request.getAuth(), variables));
+        resolved.setBody(resolveBody(request.getBody(), variables));
+        return resolved;
+    }
+
+    private static List<QueryParameter> resolveParams(List<QueryParameter> params, Map<String, String> variables) {
+        return params.stream()
+                .map(p -> new QueryParameter(p.selected(), render(p.key(), variables), render(p.value(), variables)))
+                .toList();
+    }
+
+    private static List<HttpHeader> resolveHeaders(List<HttpHeader> headers, Map<String, String> variables) {
+        return headers.stream()
+                .map(h -> new HttpHeader(h.selected(), render(h.key(), variables), render(h.value(), variables)))
+                .toList();
+    }
+
+    private static Auth resolveAuth(Auth auth, Map<String, String> variables) {
+        return switch (auth) {
+            case null -> null;
+            case BasicAuth basic -> new BasicAuth(
+                    render(basic.username(), variables),
+                    render(basic.password(), variables));
+            case BearerTokenAuth bearer -> new BearerTokenAuth(render(bearer.token(), variables));
+            case OAuth1Auth oauth -> new OAuth1Auth(
+                    oauth.addAuthDataTo(),
+                    oauth.signatureMethod(),
+                    render(oauth.consumerKey(), variables),
+                    render(oauth.consumerSecret(), variables),
+                    render(oauth.accessToken(), variables),
+                    render(oauth.tokenSecret(), variables),
+                    render(oauth.callbackUrl(), variables),
+                    render(oauth.verifier(), variables),
+                    render(oauth.timestamp(), variables),
+                    render(oauth.nonce(), variables),
+                    render(oauth.version(), variables),
+                    render(oauth.realm(), variables),
+                    oauth.includeBodyHash(),
+                    oauth.addEmptyParamsToSignature());
+        };
+    }
+
+    private static Body resolveBody(Body body, Map<String, String> variables) {
+        return switch (body) {
+            case null -> null;
+            case JsonBody json -> new JsonBody(renderUncached(json.json(), variables));
+            case PlainTextBody text -> new PlainTextBody(renderUncached(text.text(), variables));
+            case XmlBody xml -> new XmlBody(renderUncached(xml.xml(), variables));
+            case FormEncodeBody form when form.forms() == null -> form;
+            case FormDataBody form when form.parts() == null -> form;
+            case FormEncodeBody form -> new FormEncodeBody(form.forms().stream()
+                    .map(f -> new FormEncodePart(render(f.name(), variables), render(f.value(), variables)))
+                    .toList());
+            case FormDataBody form -> new FormDataBody(form.parts().stream()
+                    .map(p -> new FormDataPart(render(p.name(), variables), p.type(), render(p.value(), variables)))
+                    .toList());
+            case BinaryBody binary -> new BinaryBody(render(binary.filePath(), variables));
+            default -> body;
+        };
+    }
+
+    private static String render(String text, Map<String, String> variables) {
+        return text == null || text.isEmpty() ? text : Template.of(text).render(variables);
+    }
+
+    /**
+     * Renders text that changes with almost every edit, such as a body,
+     * without keeping its template in the shared cache.
+     */
+    private static String renderUncached(String text, Map<String, String> variables) {
+        return text == null || text.isEmpty() ? text : Template.compile(text).render(variables);
+    }
+}
@@ -21,10 +21,22 @@ public class CollectionController {
         repository.saveCollection(collection);
     }
 
+    public void saveCollections(List<Collection> collections) {
+        repository.saveCollections(collections);
+    }
+
     public void saveRequest(Request request) {
         repository.saveRequest(request);
     }
 
+    public Collection findCollectionById(String id) {
+        return repository.findCollectionById(id);
+    }
+
+    public List<Object> search(String query) {
+        return repository.search(query);
+    }
+
     public Request findRequestById(String idCollection, String idRequest) {
         return repository.findRequestById(idCollection, idRequest);
     }
@@ -1,10 +1,19 @@
 package com.jrelay.core.controller;
 
+import java.time.Duration;
+
+import com.jrelay.core.builder.BodySpool;
+import com.jrelay.core.builder.HttpClient;
+import com.jrelay.core.builder.HttpClient.PoolConfig;
+import com.jrelay.core.builder.RequestBuilder;
 import com.jrelay.core.models.Preference;
 import com.jrelay.core.models.Preference.AccentColor;
+import com.jrelay.core.models.Preference.ExecutionMode;
 import com.jrelay.core.models.Preference.Lang;
 import com.jrelay.core.models.Preference.Theme;
 import com.jrelay.core.repository.PreferenceRepository;
+import com.jrelay.core.repository.RequestHistoryRepository.Retention;
+import com.jrelay.core.service.HttpClientServices;
 import com.jrelay.core.utils.i18n.LangManager;
 import com.jrelay.ui.shared.styles.Colors;
 
@@ -20,6 +29,12 @@ public class PreferenceController {
     private void init() {
         preference = repository.getPreference();
         Colors.ACCENT_COLOR = preference.getAccentColor();
+        BodySpool.setThreshold(preference.getSpillThreshold());
+        BodySpool.purgeStale();
+        applyPoolConfig();
+        HttpClientServices.setMode(preference.getExecutionMode());
+        applyCache();
+        RequestBuilder.setForceNoCache(preference.isForceNoCache());
         LangManager.loadBundle(preference.getLang());
     }
 
@@ -38,6 +53,86 @@ public class PreferenceController {
         repository.updatePreference(preference);
     }
 
+    /**
+     * Switches how requests are executed. Sends already in flight finish in the
+     * mode they were started in.
+     */
+    public void setExecutionMode(ExecutionMode mode) {
+        preference.setExecutionMode(mode);
+        repository.updatePreference(preference);
+        HttpClientServices.setMode(mode);
+    }
+
+    /**
+     * Turns the disk cache of HTTP responses on or off.
+     */
+    public void setCacheEnabled(boolean enabled) {
+        preference.setCacheEnabled(enabled);
+        repository.updatePreference(preference);
+        applyCache();
+    }
+
+    /**
+     * Sets whether requests are sent with {@code Cache-Control: no-cache}.
+     */
+    public void setForceNoCache(boolean force) {
+        preference.setForceNoCache(force);
+        repository.updatePreference(preference);
+        RequestBuilder.setForceNoCache(force);
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return preference.getExecutionMode();
+    }
+
+    public boolean isCacheEnabled() {
+        return preference.isCacheEnabled();
+    }
+
+    public boolean isForceNoCache() {
+        return preference.isForceNoCache();
+    }
+
+    /**
+     * @return the request history limits, or {@link Retention#DEFAULT} when
+     *         the stored ones are not valid
+     */
+    public Retention getHistoryRetention() {
+        try {
+            return new Retention(
+                    preference.getHistoryMaxEntries(),
+                    Duration.ofDays(preference.getHistoryMaxAgeDays()),
+                    preference.getHistoryMaxBytes());
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return Retention.DEFAULT;
+        }
+    }
+
+    private void applyCache() {
+        long maxBytes = preference.getCacheMaxBytes() > 0
+                ? preference.getCacheMaxBytes()
+                : Preference.DEFAULT_CACHE_MAX_BYTES;
+        HttpClient.configureCache(preference.isCacheEnabled() ? maxBytes : 0);
+    }
+
+    /**
+     * Sizes the shared HTTP client from the stored limits. They are only read
+     * at startup, from {@code preference.json}.
+     */
+    private void applyPoolConfig() {
+        try {
+            HttpClient.configure(new PoolConfig(
+                    preference.getMaxIdleConnections(),
+                    preference.getKeepAliveSeconds(),
+                    preference.getMaxRequests(),
+                    preference.getMaxRequestsPerHost()));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            HttpClient.configure(PoolConfig.DEFAULT);
+        }
+    }
+
     public Theme getTheme(){
         return preference.getTheme();
     }
@@ -3,8 +3,10 @@ package com.jrelay.core.controller;
 import java.util.List;
 
 import com.jrelay.core.models.RequestHistory;
-import com.jrelay.core.models.request.Request;
+import com.jrelay.core.models.response.Response;
+import com.jrelay.core.repository.JsonRepository.RepositoryException;
 import com.jrelay.core.repository.RequestHistoryRepository;
+import com.jrelay.core.repository.RequestHistoryRepository.Retention;
 import com.jrelay.ui.views.SideBar;
 
 import lombok.Setter;
@@ -14,19 +16,41 @@ public class RequestHistoryController {
     private SideBar sideBar;
     private final RequestHistoryRepository repository;
 
-    public RequestHistoryController() {
-        this.repository = new RequestHistoryRepository("history.json");
+    public RequestHistoryController(Retention retention) {
+        this.repository = new RequestHistoryRepository("history", retention);
     }
 
     public List<RequestHistory> findAll() {
         return repository.findAll();
     }
 
-    public void add(Request request) {
-        repository.add(new RequestHistory(request));
+    public List<RequestHistory> search(String query) {
+        return repository.search(query);
+    }
+
+    public void add(RequestHistory requestHistory) {
+        repository.add(requestHistory);
         sideBar.getHttpPanel().getTreePanelHistory().renderNodes();
     }
 
+    /**
+     * Records the response to the entry sent at {@code timestamp}. The body is
+     * copied on a background thread.
+     */
+    public void complete(String timestamp, Response response) {
+        Thread.ofVirtual().name("history-response").start(() -> {
+            try {
+                repository.complete(timestamp, response);
+            } catch (RepositoryException e) {
+                System.err.println(e.getMessage());
+            }
+        });
+    }
+
+    public Response responseOf(RequestHistory requestHistory) {
+        return repository.responseOf(requestHistory);
+    }
+
     public void delete(String timestamp) {
         repository.delete(timestamp);
         sideBar.getHttpPanel().getTreePanelHistory().renderNodes();
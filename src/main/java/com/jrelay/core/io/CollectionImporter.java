@@ -0,0 +1,413 @@
+package com.jrelay.core.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jrelay.core.models.Collection;
+import com.jrelay.core.models.request.HttpHeader;
+import com.jrelay.core.models.request.Method;
+import com.jrelay.core.models.request.QueryParameter;
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.models.request.auth.Auth;
+import com.jrelay.core.models.request.auth.BasicAuth;
+import com.jrelay.core.models.request.auth.BearerTokenAuth;
+import com.jrelay.core.models.request.body.BinaryBody;
+import com.jrelay.core.models.request.body.Body;
+import com.jrelay.core.models.request.body.FormDataBody;
+import com.jrelay.core.models.request.body.FormDataBody.FormDataPart;
+import com.jrelay.core.models.request.body.FormEncodeBody;
+import com.jrelay.core.models.request.body.FormEncodeBody.FormEncodePart;
+import com.jrelay.core.models.request.body.JsonBody;
+import com.jrelay.core.models.request.body.PlainTextBody;
+import com.jrelay.core.models.request.body.XmlBody;
+
+/**
+ * Reads Postman v2.1 collections and HAR files into a {@link Collection}.
+ * <p>
+ * Files are read with a streaming {@link JsonParser}: only one request is held
+ * as a tree at a time, and everything that is not imported, such as HAR
+ * responses and their bodies, is skipped without being materialized. Memory
+ * therefore grows with the requests imported, not with the size of the file.
+ * The format is recognized from the top-level fields: {@code log} for HAR,
+ * {@code info} and {@code item} for Postman.
+ * <p>
+ * Postman folders are flattened into the collection, with the folder path
+ * prefixed to each request name. Requests whose method is not supported are
+ * skipped.
+ */
+public final class CollectionImporter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Request headers of a HAR entry that are not imported: they describe the
+     * recorded connection or framing and are set again when the request is
+     * sent. HTTP/2 pseudo-headers, which start with {@code :}, are dropped too.
+     */
+    private static final Set<String> HAR_SKIPPED_HEADERS = Set.of(
+            "accept-encoding", "connection", "content-length", "host", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade");
+
+    private String name;
+    private final List<Request> requests = new ArrayList<>();
+    private int skipped;
+
+    /**
+     * Reads the collection stored in {@code file}.
+     *
+     * @param file a Postman v2.1 collection or a HAR file
+     * @return the result of the import
+     * @throws IOException if the file cannot be read or is not in a known
+     *                     format
+     */
+    public static Result read(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in, dot > 0 ? fileName.substring(0, dot) : fileName);
+        }
+    }
+
+    /**
+     * Reads a collection from {@code in}.
+     *
+     * @param in           a Postman v2.1 collection or a HAR document
+     * @param fallbackName the collection name to use when the document has none
+     * @return the result of the import
+     * @throws IOException if the stream cannot be read or is not in a known
+     *                     format
+     */
+    public static Result read(InputStream in, String fallbackName) throws IOException {
+        CollectionImporter importer = new CollectionImporter();
+        boolean recognized = false;
+        try (JsonParser parser = MAPPER.getFactory().createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "info" -> {
+                        JsonNode info = parser.readValueAsTree();
+                        importer.name = text(info, "name");
+                        recognized = true;
+                    }
+                    case "item" -> {
+                        importer.readPostmanItems(parser);
+                        recognized = true;
+                    }
+                    case "log" -> {
+                        importer.readHarLog(parser);
+                        recognized = true;
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        if (!recognized) {
+            throw new IOException("Not a Postman v2.1 collection or HAR file");
+        }
+        String collectionName = importer.name != null && !importer.name.isBlank() ? importer.name : fallbackName;
+        Collection collection = new Collection(collectionName, importer.requests);
+        for (Request request : importer.requests) {
+            request.setIdCollection(collection.getId());
+        }
+        return new Result(collection, importer.skipped);
+    }
+
+    private void readPostmanItems(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY, parser);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String itemName = null;
+            JsonNode request = null;
+            int folderStart = -1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "name" -> itemName = parser.getValueAsString();
+                    case "request" -> request = parser.readValueAsTree();
+                    case "item" -> {
+                        // A folder; its name may come after its items, so the
+                        // prefix is applied once the folder is closed.
+                        folderStart = requests.size();
+                        readPostmanItems(parser);
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (folderStart >= 0) {
+                if (itemName != null && !itemName.isBlank()) {
+                    prefixNames(folderStart, itemName + " / ");
+                }
+            } else if (request != null) {
+                addPostmanRequest(request, itemName);
+            }
+        }
+    }
+
+    private void prefixNames(int from, String prefix) {
+        for (int i = from; i < requests.size(); i++) {
+            Request request = requests.get(i);
+            request.setName(prefix + request.getName());
+        }
+    }
+
+    private void addPostmanRequest(JsonNode node, String itemName) {
+        Method method = method(node.isTextual() ? "GET" : node.path("method").asText("GET"));
+        if (method == null) {
+            skipped++;
+            return;
+        }
+        Request request = new Request();
+        request.setMethod(method);
+        if (itemName != null && !itemName.isBlank()) {
+            request.setName(itemName);
+        }
+
+        JsonNode url = node.isTextual() ? node : node.path("url");
+        List<QueryParameter> params = new ArrayList<>();
+        if (url.isTextual()) {
+            request.setUrl(url.asText());
+        } else {
+            request.setUrl(text(url, "raw"));
+            for (JsonNode query : url.path("query")) {
+                params.add(new QueryParameter(!query.path("disabled").asBoolean(false),
+                        text(query, "key"), text(query, "value")));
+            }
+        }
+        request.setParams(params);
+
+        List<HttpHeader> headers = new ArrayList<>();
+        for (JsonNode header : node.path("header")) {
+            headers.add(new HttpHeader(!header.path("disabled").asBoolean(false),
+                    text(header, "key"), text(header, "value")));
+        }
+        request.setHeaders(headers);
+        request.setAuth(postmanAuth(node.path("auth")));
+        request.setBody(postmanBody(node.path("body")));
+        requests.add(request);
+    }
+
+    private static Auth postmanAuth(JsonNode auth) {
+        String type = text(auth, "type");
+        if ("basic".equals(type)) {
+            return new BasicAuth(postmanAuthValue(auth.path("basic"), "username"),
+                    postmanAuthValue(auth.path("basic"), "password"));
+        }
+        if ("bearer".equals(type)) {
+            return new BearerTokenAuth("Bearer " + postmanAuthValue(auth.path("bearer"), "token"));
+        }
+        return null;
+    }
+
+    /**
+     * Auth parameters are a list of key/value pairs in v2.1 and a plain object
+     * in some older exports.
+     */
+    private static String postmanAuthValue(JsonNode values, String key) {
+        if (values.isObject()) {
+            return values.path(key).asText("");
+        }
+        for (JsonNode value : values) {
+            if (key.equals(text(value, "key"))) {
+                return value.path("value").asText("");
+            }
+        }
+        return "";
+    }
+
+    private static Body postmanBody(JsonNode body) {
+        String mode = text(body, "mode");
+        if (mode == null) {
+            return null;
+        }
+        return switch (mode) {
+            case "raw" -> {
+                String raw = body.path("raw").asText("");
+                String language = body.path("options").path("raw").path("language").asText("");
+                yield switch (language) {
+                    case "json" -> new JsonBody(raw);
+                    case "xml" -> new XmlBody(raw);
+                    default -> new PlainTextBody(raw);
+                };
+            }
+            case "urlencoded" -> {
+                List<FormEncodePart> forms = new ArrayList<>();
+                for (JsonNode part : body.path("urlencoded")) {
+                    if (!part.path("disabled").asBoolean(false)) {
+                        forms.add(new FormEncodePart(text(part, "key"), text(part, "value")));
+                    }
+                }
+                yield new FormEncodeBody(forms);
+            }
+            case "formdata" -> {
+                List<FormDataPart> parts = new ArrayList<>();
+                for (JsonNode part : body.path("formdata")) {
+                    if (part.path("disabled").asBoolean(false)) {
+                        continue;
+                    }
+                    if ("file".equals(text(part, "type"))) {
+                        parts.add(new FormDataPart(text(part, "key"), FormDataPart.PartType.FILE,
+                                part.path("src").asText("")));
+                    } else {
+                        parts.add(new FormDataPart(text(part, "key"), FormDataPart.PartType.TEXT,
+                                text(part, "value")));
+                    }
+                }
+                yield new FormDataBody(parts);
+            }
+            case "file" -> new BinaryBody(body.path("file").path("src").asText(""));
+            default -> null;
+        };
+    }
+
+    private void readHarLog(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT, parser);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (field.equals("entries")) {
+                readHarEntries(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readHarEntries(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY, parser);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            JsonNode request = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (field.equals("request")) {
+                    request = parser.readValueAsTree();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (request != null) {
+                addHarRequest(request);
+            }
+        }
+    }
+
+    private void addHarRequest(JsonNode node) {
+        Method method = method(text(node, "method"));
+        String url = text(node, "url");
+        if (method == null || url == null) {
+            skipped++;
+            return;
+        }
+        Request request = new Request();
+        request.setMethod(method);
+        request.setUrl(url);
+        request.setName(method.name() + " " + pathOf(url));
+
+        List<QueryParameter> params = new ArrayList<>();
+        for (JsonNode query : node.path("queryString")) {
+            params.add(new QueryParameter(true, text(query, "name"), text(query, "value")));
+        }
+        request.setParams(params);
+
+        List<HttpHeader> headers = new ArrayList<>();
+        for (JsonNode header : node.path("headers")) {
+            String name = text(header, "name");
+            if (name == null || name.startsWith(":")
+                    || HAR_SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            headers.add(new HttpHeader(true, name, text(header, "value")));
+        }
+        request.setHeaders(headers);
+        request.setBody(harBody(node.path("postData")));
+        requests.add(request);
+    }
+
+    private static Body harBody(JsonNode postData) {
+        if (postData.isMissingNode() || postData.isNull()) {
+            return null;
+        }
+        String mimeType = postData.path("mimeType").asText("").toLowerCase(Locale.ROOT);
+        String text = postData.path("text").asText("");
+        JsonNode params = postData.path("params");
+        if (mimeType.startsWith("application/x-www-form-urlencoded") && params.size() > 0) {
+            List<FormEncodePart> forms = new ArrayList<>();
+            for (JsonNode param : params) {
+                forms.add(new FormEncodePart(text(param, "name"), text(param, "value")));
+            }
+            return new FormEncodeBody(forms);
+        }
+        if (mimeType.startsWith("multipart/form-data") && params.size() > 0) {
+            List<FormDataPart> parts = new ArrayList<>();
+            for (JsonNode param : params) {
+                String fileName = text(param, "fileName");
+                parts.add(fileName != null
+                        ? new FormDataPart(text(param, "name"), FormDataPart.PartType.FILE, fileName)
+                        : new FormDataPart(text(param, "name"), FormDataPart.PartType.TEXT, text(param, "value")));
+            }
+            return new FormDataBody(parts);
+        }
+        if (mimeType.contains("json")) {
+            return new JsonBody(text);
+        }
+        if (mimeType.contains("xml")) {
+            return new XmlBody(text);
+        }
+        return new PlainTextBody(text);
+    }
+
+    private static Method method(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Method.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String pathOf(String url) {
+        try {
+            String path = URI.create(url).getRawPath();
+            return path != null && !path.isEmpty() ? path : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() ? value.asText() : null;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser parser) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " at " + parser.currentLocation());
+        }
+    }
+
+    /**
+     * The outcome of an import.
+     *
+     * @param collection the imported collection, with {@code idCollection} set
+     *                   on each of its requests
+     * @param skipped    the number of requests left out because their method
+     *                   is not supported
+     */
+    public record Result(Collection collection, int skipped) {
+    }
+}
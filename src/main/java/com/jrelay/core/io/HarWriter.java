@@ -0,0 +1,333 @@
+package com.jrelay.core.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jrelay.core.builder.AuthHeaderBuilder;
+import com.jrelay.core.models.RequestHistory;
+import com.jrelay.core.models.request.HttpHeader;
+import com.jrelay.core.models.request.QueryParameter;
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.models.request.body.Body;
+import com.jrelay.core.models.request.body.FormDataBody;
+import com.jrelay.core.models.request.body.FormDataBody.FormDataPart;
+import com.jrelay.core.models.request.body.FormEncodeBody;
+import com.jrelay.core.models.request.body.FormEncodeBody.FormEncodePart;
+import com.jrelay.core.models.response.Response;
+import com.jrelay.core.models.response.ResponseBody;
+import com.jrelay.core.models.response.Timings;
+
+/**
+ * Writes exchanges to an HTTP Archive (HAR 1.2) document one entry at a time.
+ * <p>
+ * The document is streamed through a {@link JsonGenerator}: each call to
+ * {@code write} emits one complete entry and nothing is kept afterwards, so an
+ * archive of any number of entries is written in constant memory. Response
+ * bodies are copied from their handle as they are written, as text decoded
+ * with the response charset or as base64, depending on their display type.
+ * Phase timings measured by OkHttp are mapped to the HAR {@code timings}
+ * object; phases that were not measured are written as {@code -1}.
+ * {@link #close()} finishes the document and closes the stream.
+ *
+ * <pre>{@code
+ * try (HarWriter har = new HarWriter(Files.newOutputStream(path))) {
+ *     har.write(request, response, started);
+ * }
+ * }</pre>
+ */
+public final class HarWriter implements Closeable {
+
+    private static final String VERSION = "1.2";
+    private static final String CREATOR = "JRelay";
+
+    private final JsonGenerator generator;
+    private int count;
+
+    /**
+     * Starts a document on {@code out}.
+     *
+     * @param out the stream to write to; closed by {@link #close()}
+     * @throws IOException if the header cannot be written
+     */
+    public HarWriter(OutputStream out) throws IOException {
+        this.generator = new JsonFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.useDefaultPrettyPrinter();
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("log");
+        generator.writeStringField("version", VERSION);
+        generator.writeObjectFieldStart("creator");
+        generator.writeStringField("name", CREATOR);
+        String version = HarWriter.class.getPackage().getImplementationVersion();
+        generator.writeStringField("version", version != null ? version : "dev");
+        generator.writeEndObject();
+        generator.writeArrayFieldStart("entries");
+    }
+
+    /**
+     * Writes an exchange whose response was received.
+     *
+     * @param request  the request as it was sent
+     * @param response the response received for it
+     * @param started  when the request was started
+     * @throws IOException if the entry cannot be written
+     */
+    public void write(Request request, Response response, Instant started) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("startedDateTime", started.toString());
+        generator.writeNumberField("time", totalTime(response.timings()));
+        String httpVersion = response.connection() != null ? response.connection().protocol() : "";
+        writeRequest(request, httpVersion);
+        writeResponse(response, httpVersion);
+        generator.writeObjectFieldStart("cache");
+        generator.writeEndObject();
+        writeTimings(response.timings());
+        generator.writeEndObject();
+        generator.flush();
+        count++;
+    }
+
+    /**
+     * Writes a history entry that has no recorded response, such as one saved
+     * before responses were kept. The entry has an empty response and no
+     * timings.
+     *
+     * @param history the history entry
+     * @throws IOException if the entry cannot be written
+     */
+    public void write(RequestHistory history) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("startedDateTime", history.instant().toString());
+        generator.writeNumberField("time", 0);
+        writeRequest(history.request(), "");
+        writeResponse(null, "");
+        generator.writeObjectFieldStart("cache");
+        generator.writeEndObject();
+        writeTimings(null);
+        generator.writeEndObject();
+        generator.flush();
+        count++;
+    }
+
+    /**
+     * @return the number of entries written so far
+     */
+    public int count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (generator.isClosed()) {
+            return;
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    private void writeRequest(Request request, String httpVersion) throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (request.getHeaders() != null) {
+            for (HttpHeader header : request.getHeaders()) {
+                if (header.selected() && header.key() != null && !header.key().isBlank()) {
+                    headers.put(header.key(), header.value() != null ? header.value() : "");
+                }
+            }
+        }
+        headers.putAll(AuthHeaderBuilder.build(request.getAuth()));
+        Body body = request.getBody();
+        if (body != null && headers.keySet().stream().noneMatch("Content-Type"::equalsIgnoreCase)) {
+            headers.put("Content-Type", body.contentType());
+        }
+
+        generator.writeObjectFieldStart("request");
+        generator.writeStringField("method", request.getMethod().name());
+        generator.writeStringField("url", request.getUrl());
+        generator.writeStringField("httpVersion", httpVersion);
+        writeEmptyArray("cookies");
+        generator.writeArrayFieldStart("headers");
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            writeNameValue(header.getKey(), header.getValue());
+        }
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("queryString");
+        if (request.getParams() != null) {
+            for (QueryParameter param : request.getParams()) {
+                if (param.selected() && param.key() != null && !param.key().isBlank()) {
+                    writeNameValue(param.key(), param.value() != null ? param.value() : "");
+                }
+            }
+        }
+        generator.writeEndArray();
+        long bodySize = body != null ? writePostData(body) : 0;
+        generator.writeNumberField("headersSize", -1);
+        generator.writeNumberField("bodySize", bodySize);
+        generator.writeEndObject();
+    }
+
+    private long writePostData(Body body) throws IOException {
+        generator.writeObjectFieldStart("postData");
+        generator.writeStringField("mimeType", body.contentType());
+        long size = -1;
+        switch (body) {
+            case FormEncodeBody form -> {
+                generator.writeArrayFieldStart("params");
+                if (form.forms() != null) {
+                    for (FormEncodePart part : form.forms()) {
+                        writeNameValue(part.name(), part.value());
+                    }
+                }
+                generator.writeEndArray();
+                generator.writeStringField("text", "");
+            }
+            case FormDataBody form -> {
+                generator.writeArrayFieldStart("params");
+                if (form.parts() != null) {
+                    for (FormDataPart part : form.parts()) {
+                        generator.writeStartObject();
+                        generator.writeStringField("name", part.name());
+                        if (part.type() == FormDataPart.PartType.FILE) {
+                            generator.writeStringField("fileName", part.value());
+                        } else {
+                            generator.writeStringField("value", part.value());
+                        }
+                        generator.writeEndObject();
+                    }
+                }
+                generator.writeEndArray();
+                generator.writeStringField("text", "");
+            }
+            default -> {
+                String text = body.content() != null ? body.content() : "";
+                generator.writeStringField("text", text);
+                size = text.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        generator.writeEndObject();
+        return size;
+    }
+
+    private void writeResponse(Response response, String httpVersion) throws IOException {
+        generator.writeObjectFieldStart("response");
+        generator.writeNumberField("status", response != null && response.status() != null ? response.status() : 0);
+        generator.writeStringField("statusText", "");
+        generator.writeStringField("httpVersion", httpVersion);
+        writeEmptyArray("cookies");
+        generator.writeArrayFieldStart("headers");
+        String mimeType = "";
+        if (response != null && response.headers() != null) {
+            for (Map.Entry<String, List<String>> header : response.headers().entrySet()) {
+                if (header.getKey() == null) {
+                    continue;
+                }
+                for (String value : header.getValue()) {
+                    writeNameValue(header.getKey(), value);
+                    if (header.getKey().equalsIgnoreCase("Content-Type")) {
+                        mimeType = value;
+                    }
+                }
+            }
+        }
+        generator.writeEndArray();
+
+        ResponseBody body = response != null ? response.body() : null;
+        long size = body != null ? body.length() : 0;
+        generator.writeObjectFieldStart("content");
+        generator.writeNumberField("size", size);
+        generator.writeStringField("mimeType", mimeType);
+        if (body != null && size > 0) {
+            if (response.isText()) {
+                try (Reader reader = new InputStreamReader(body.openStream(), body.charset())) {
+                    generator.writeFieldName("text");
+                    generator.writeString(reader, -1);
+                }
+            } else {
+                try (InputStream in = body.openStream()) {
+                    generator.writeFieldName("text");
+                    generator.writeBinary(in, (int) Math.min(size, Integer.MAX_VALUE));
+                }
+                generator.writeStringField("encoding", "base64");
+            }
+        }
+        generator.writeEndObject();
+        generator.writeStringField("redirectURL", "");
+        generator.writeNumberField("headersSize", -1);
+        generator.writeNumberField("bodySize", body != null ? size : -1);
+        if (response != null && response.hasError()) {
+            generator.writeStringField("_error", response.errorMessage());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Maps OkHttp phases to HAR timings. HAR counts the TLS handshake as part of
+     * {@code connect} and reports it again in {@code ssl}.
+     */
+    private void writeTimings(Timings timings) throws IOException {
+        generator.writeObjectFieldStart("timings");
+        generator.writeNumberField("blocked", -1);
+        if (timings == null) {
+            generator.writeNumberField("dns", -1);
+            generator.writeNumberField("connect", -1);
+            generator.writeNumberField("send", 0);
+            generator.writeNumberField("wait", 0);
+            generator.writeNumberField("receive", 0);
+            generator.writeNumberField("ssl", -1);
+        } else {
+            double connect = timings.connect() >= 0 && timings.tls() >= 0
+                    ? timings.connect() + timings.tls()
+                    : timings.connect();
+            generator.writeNumberField("dns", optional(timings.dns()));
+            generator.writeNumberField("connect", optional(connect));
+            generator.writeNumberField("send", required(timings.send()));
+            generator.writeNumberField("wait", required(timings.waiting()));
+            generator.writeNumberField("receive", required(timings.receive()));
+            generator.writeNumberField("ssl", optional(timings.tls()));
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeNameValue(String name, String value) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", name);
+        generator.writeStringField("value", value);
+        generator.writeEndObject();
+    }
+
+    private void writeEmptyArray(String name) throws IOException {
+        generator.writeArrayFieldStart(name);
+        generator.writeEndArray();
+    }
+
+    private static double totalTime(Timings timings) {
+        if (timings == null) {
+            return 0;
+        }
+        if (timings.total() >= 0) {
+            return timings.total();
+        }
+        return Math.max(timings.dns(), 0) + Math.max(timings.connect(), 0) + Math.max(timings.tls(), 0)
+                + required(timings.send()) + required(timings.waiting()) + required(timings.receive());
+    }
+
+    private static double optional(double millis) {
+        return millis >= 0 ? millis : -1;
+    }
+
+    private static double required(double millis) {
+        return Math.max(millis, 0);
+    }
+}
@@ -0,0 +1,100 @@
+package com.jrelay.core.models;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.jrelay.core.models.response.CacheStatus;
+import com.jrelay.core.models.response.ConnectionStats;
+import com.jrelay.core.models.response.ContentDisplayType;
+import com.jrelay.core.models.response.FileResponseBody;
+import com.jrelay.core.models.response.Response;
+import com.jrelay.core.models.response.Timings;
+
+/**
+ * The response received for a {@link RequestHistory} entry.
+ * <p>
+ * Everything but the body is written to the history log. The body is copied
+ * into a file kept next to the log and referenced by a {@link StoredBody}.
+ *
+ * @param status       the HTTP status code
+ * @param duration     the time taken to receive the response, as shown
+ * @param size         the size of the response, as shown
+ * @param headers      the response headers
+ * @param hasError     {@code true} if no response was received
+ * @param errorMessage why no response was received, or {@code null}
+ * @param displayType  how the body is presented, or {@code null}
+ * @param timings      the per-phase timing of the call, or {@code null}
+ * @param connection   the connection the response arrived on, or {@code null}
+ * @param cacheStatus  how the disk cache answered, or {@code null}
+ * @param body         where the body is stored, or {@code null} if there was
+ *                     none or it was not kept
+ */
+public record HistoryResponse(
+        Integer status,
+        String duration,
+        String size,
+        Map<String, List<String>> headers,
+        boolean hasError,
+        String errorMessage,
+        ContentDisplayType displayType,
+        Timings timings,
+        ConnectionStats connection,
+        CacheStatus cacheStatus,
+        StoredBody body) {
+
+    /**
+     * Records {@code response} with its body stored at {@code body}. The status
+     * line some clients report under a {@code null} header name is dropped.
+     *
+     * @param response the response as received
+     * @param body     where its body was stored, or {@code null}
+     * @return the response to keep in the history
+     */
+    public static HistoryResponse of(Response response, StoredBody body) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (response.headers() != null) {
+            response.headers().forEach((name, values) -> {
+                if (name != null) {
+                    headers.put(name, List.copyOf(values));
+                }
+            });
+        }
+        return new HistoryResponse(response.status(), response.duration(), response.size(), headers,
+                response.hasError(), response.errorMessage(), response.displayType(), response.timings(),
+                response.connection(), response.cacheStatus(), body);
+    }
+
+    /**
+     * Rebuilds the response, reading its body from the file it was stored in.
+     * The body is left out when that file has since been removed.
+     *
+     * @param directory the directory the body file was stored in
+     * @return the response as it was received
+     */
+    public Response toResponse(Path directory) {
+        FileResponseBody content = null;
+        if (body != null) {
+            Path file = directory.resolve(body.file());
+            if (Files.exists(file)) {
+                content = new FileResponseBody(file, body.offset(), body.length(), Charset.forName(body.charset()));
+            }
+        }
+        return new Response(status, duration, size, headers, content, hasError, errorMessage, displayType, null,
+                timings, connection, cacheStatus);
+    }
+
+    /**
+     * A body stored in a region of a file.
+     *
+     * @param file    the file name, relative to the history directory
+     * @param offset  where the body starts in the file
+     * @param length  the body length in bytes
+     * @param charset the charset advertised by the response
+     */
+    public record StoredBody(String file, long offset, long length, String charset) {
+    }
+}
@@ -1,5 +1,8 @@
 package com.jrelay.core.models;
 
+import com.jrelay.core.builder.HttpClient.PoolConfig;
+import com.jrelay.core.repository.RequestHistoryRepository.Retention;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -35,6 +38,54 @@ public class Preference {
     private Theme theme;
     private AccentColor accentColor;
 
+    /**
+     * Size in bytes above which response bodies are spooled to a temporary file
+     * instead of being kept in memory, applied at startup.
+     */
+    private long spillThreshold = DEFAULT_SPILL_THRESHOLD;
+
+    /**
+     * Connection pool and dispatcher limits of the shared HTTP client, applied
+     * at startup.
+     */
+    private int maxIdleConnections = PoolConfig.DEFAULT.maxIdleConnections();
+    private long keepAliveSeconds = PoolConfig.DEFAULT.keepAliveSeconds();
+    private int maxRequests = PoolConfig.DEFAULT.maxRequests();
+    private int maxRequestsPerHost = PoolConfig.DEFAULT.maxRequestsPerHost();
+
+    /**
+     * How requests are executed: on the shared dispatcher's thread pool or on
+     * one virtual thread per call.
+     */
+    private ExecutionMode executionMode = ExecutionMode.DISPATCHER;
+
+    /**
+     * Disk cache of HTTP responses, off by default. When enabled, responses
+     * are stored under the application data directory and the least recently
+     * used ones are evicted beyond {@code cacheMaxBytes}.
+     */
+    private boolean cacheEnabled = false;
+    private long cacheMaxBytes = DEFAULT_CACHE_MAX_BYTES;
+
+    /**
+     * Whether every request is sent with {@code Cache-Control: no-cache}, which
+     * makes servers and the disk cache revalidate instead of serving a stored
+     * response.
+     */
+    private boolean forceNoCache = true;
+
+    /**
+     * Limits on the request history: the number of entries, the days a history
+     * segment is kept after its last write, and the total size of the log
+     * with its stored response bodies.
+     */
+    private int historyMaxEntries = Retention.DEFAULT.maxEntries();
+    private int historyMaxAgeDays = (int) Retention.DEFAULT.maxAge().toDays();
+    private long historyMaxBytes = Retention.DEFAULT.maxBytes();
+
+    public static final long DEFAULT_SPILL_THRESHOLD = 8L * 1024 * 1024;
+    public static final long DEFAULT_CACHE_MAX_BYTES = 50L * 1024 * 1024;
+
     /**
      * Enum for supported interface languages.
      */
@@ -64,6 +115,13 @@ public class Preference {
         SYS, DARK, LIGHT
     }
 
+    /**
+     * Enum for the ways requests can be executed.
+     */
+    public enum ExecutionMode {
+        DISPATCHER, VIRTUAL_THREADS
+    }
+
     /**
      * Enum representing the available accent colors with their corresponding hex
      * values.
@@ -88,6 +146,8 @@ public class Preference {
      * Constructs a {@code Preference} with default values.
      */
     public Preference(Lang lang, Theme theme) {
-        this(lang, theme, AccentColor.BLUE);
+        this.lang = lang;
+        this.theme = theme;
+        this.accentColor = AccentColor.BLUE;
     }
 }
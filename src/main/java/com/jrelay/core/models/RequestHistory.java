@@ -1,20 +1,71 @@
 package com.jrelay.core.models;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
 
 import com.jrelay.core.models.request.Request;
 
-public record RequestHistory(String timestamp, Request request) {
+/**
+ * A request as it was sent, with the local time it was sent at and the
+ * response it received.
+ * <p>
+ * The timestamp also identifies the entry. It is written as
+ * {@code dd/MM/yyyy, HH:mm:ss.SSS}. Entries saved by earlier versions used a
+ * 12-hour clock without an AM/PM marker ({@code dd/MM/yyyy, hh:mm:ss}); the
+ * half of the day they belong to cannot be recovered, so {@link #instant()}
+ * reads them as AM.
+ *
+ * @param timestamp when the request was sent
+ * @param request   the request as it was sent
+ * @param response  the response it received, or {@code null} while it is in
+ *                  flight or for entries saved before responses were kept
+ */
+public record RequestHistory(String timestamp, Request request, HistoryResponse response) {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy, HH:mm:ss.SSS");
+    private static final DateTimeFormatter LEGACY_FORMAT = new DateTimeFormatterBuilder()
+            .appendPattern("dd/MM/yyyy, hh:mm:ss")
+            .parseDefaulting(ChronoField.AMPM_OF_DAY, 0)
+            .toFormatter();
+
     public RequestHistory(Request request) {
-        this(formatNow(), request);
+        this(formatNow(), request, null);
+    }
+
+    /**
+     * @param response the response the request received
+     * @return this entry with {@code response} recorded
+     */
+    public RequestHistory withResponse(HistoryResponse response) {
+        return new RequestHistory(timestamp, request, response);
+    }
+
+    /**
+     * @return the time the request was sent, or {@link Instant#EPOCH} if the
+     *         timestamp cannot be read
+     */
+    public Instant instant() {
+        if (timestamp == null) {
+            return Instant.EPOCH;
+        }
+        for (DateTimeFormatter formatter : new DateTimeFormatter[] { FORMAT, LEGACY_FORMAT }) {
+            try {
+                return LocalDateTime.parse(timestamp, formatter).atZone(ZoneId.systemDefault()).toInstant();
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return Instant.EPOCH;
     }
 
     private static String formatNow() {
         ZonedDateTime now = Instant.now().atZone(ZoneId.systemDefault());
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy, hh:mm:ss");
-        return now.format(formatter);
+        return now.format(FORMAT);
     }
 }
@@ -0,0 +1,27 @@
+package com.jrelay.core.models.request;
+
+import lombok.Getter;
+
+/**
+ * The HTTP versions a request can be sent with.
+ *
+ * <ul>
+ * <li>AUTO – HTTP/2 when the server offers it through ALPN during the TLS
+ * handshake, HTTP/1.1 otherwise. Plain {@code http://} URLs use HTTP/1.1.</li>
+ * <li>HTTP_1_1 – HTTP/1.1 only, even if the server supports HTTP/2.</li>
+ * <li>H2_PRIOR_KNOWLEDGE – cleartext HTTP/2 (h2c) without an upgrade; the
+ * server must accept HTTP/2 on a plain {@code http://} connection.</li>
+ * </ul>
+ */
+public enum HttpVersion {
+    AUTO("ALPN"),
+    HTTP_1_1("HTTP/1.1"),
+    H2_PRIOR_KNOWLEDGE("h2c");
+
+    @Getter
+    private final String label;
+
+    HttpVersion(String label) {
+        this.label = label;
+    }
+}
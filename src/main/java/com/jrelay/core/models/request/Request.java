@@ -40,6 +40,8 @@ public class Request {
     private Auth auth;
     @Setter
     private Body body;
+    @Setter
+    private HttpVersion httpVersion;
 
     public Request() {
         this.idRequest = UUID.randomUUID().toString();
@@ -50,6 +52,7 @@ public class Request {
         this.headers = new ArrayList<>();
         this.auth = null;
         this.body = null;
+        this.httpVersion = HttpVersion.AUTO;
     }
 
     public Request(Request other) {
@@ -62,6 +65,7 @@ public class Request {
         this.headers = new ArrayList<>(other.headers);
         this.auth = other.auth;
         this.body = other.body;
+        this.httpVersion = other.httpVersion;
     }
 
     public String headersToString() {
@@ -0,0 +1,26 @@
+package com.jrelay.core.models.response;
+
+import lombok.Getter;
+
+/**
+ * How the disk cache took part in a response.
+ *
+ * <ul>
+ * <li>HIT – served from the cache without contacting the server.</li>
+ * <li>REVALIDATED – the stored response was confirmed by a conditional
+ * request that the server answered with {@code 304 Not Modified}.</li>
+ * <li>MISS – fetched from the server, and stored if it is cacheable.</li>
+ * </ul>
+ */
+public enum CacheStatus {
+    HIT("responsePanel.statusPanel.cache.hit.text"),
+    REVALIDATED("responsePanel.statusPanel.cache.revalidated.text"),
+    MISS("responsePanel.statusPanel.cache.miss.text");
+
+    @Getter
+    private final String bundleKey;
+
+    CacheStatus(String bundleKey) {
+        this.bundleKey = bundleKey;
+    }
+}
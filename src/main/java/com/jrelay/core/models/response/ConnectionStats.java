@@ -0,0 +1,23 @@
+package com.jrelay.core.models.response;
+
+/**
+ * The connection a response was received on.
+ *
+ * @param protocol      the negotiated protocol, such as {@code HTTP/1.1} or
+ *                      {@code HTTP/2}
+ * @param activeStreams the exchanges in flight on the connection when this one
+ *                      started, including it; above {@code 1} only for
+ *                      multiplexed HTTP/2 connections
+ * @param totalStreams  the exchanges the connection has carried so far,
+ *                      including this one; {@code 1} for a new connection
+ */
+public record ConnectionStats(String protocol, int activeStreams, int totalStreams) {
+
+    /**
+     * @return the protocol followed by the active and total stream counts when
+     *         they are known
+     */
+    public String describe() {
+        return totalStreams > 0 ? protocol + " · " + activeStreams + "/" + totalStreams : protocol;
+    }
+}
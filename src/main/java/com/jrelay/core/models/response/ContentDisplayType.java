@@ -28,6 +28,19 @@ public enum ContentDisplayType {
         this.mimeTypes = mimeTypes;
     }
 
+    /**
+     * Indicates whether content of this type is rendered as text in the editor
+     * rather than handed to the binary viewers.
+     *
+     * @return {@code true} for textual display types
+     */
+    public boolean isText() {
+        return switch (this) {
+            case JSON, XML, YAML, HTML, TEXT, CSV, FORM_URL_ENCODED -> true;
+            default -> false;
+        };
+    }
+
     public static ContentDisplayType detect(String contentType) {
         if (contentType == null) {
             return BINARY;
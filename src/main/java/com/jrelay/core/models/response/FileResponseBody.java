@@ -0,0 +1,216 @@
+package com.jrelay.core.models.response;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import lombok.Getter;
+
+/**
+ * {@link ResponseBody} spooled to a temporary file, or stored in a region of a
+ * larger file such as the request history.
+ * <p>
+ * Used for payloads larger than the configured spill threshold. The file is
+ * mapped read-only on first access, so images, downloads and text decoding
+ * read straight from the page cache instead of a heap copy. The decoded text
+ * is only softly cached and can be reclaimed under memory pressure.
+ * <p>
+ * A single buffer or array holds at most 2 GB, so {@link #bytes()},
+ * {@link #text()} and {@link #asByteBuffer()} fail for larger bodies. Those are
+ * read through {@link #openStream()}, {@link #writeTo(Path)} or
+ * {@link #chars()}, which maps the file a region at a time.
+ */
+public final class FileResponseBody implements ResponseBody {
+
+    @Getter
+    private final Path path;
+    private final long offset;
+    private final long length;
+    private final Charset charset;
+    private MappedByteBuffer mapped;
+    private MappedText.Index index;
+    private SoftReference<String> text = new SoftReference<>(null);
+
+    public FileResponseBody(Path path, long length, Charset charset) {
+        this(path, 0, length, charset);
+    }
+
+    /**
+     * @param path    the file holding the body
+     * @param offset  where the body starts in the file
+     * @param length  the body length in bytes
+     * @param charset the charset advertised by the response
+     */
+    public FileResponseBody(Path path, long offset, long length, Charset charset) {
+        this.path = path;
+        this.offset = offset;
+        this.length = length;
+        this.charset = charset;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public Charset charset() {
+        return charset;
+    }
+
+    @Override
+    public InputStream openStream() {
+        try {
+            InputStream in = Files.newInputStream(path);
+            try {
+                in.skipNBytes(offset);
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+            return new RegionStream(in, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public byte[] bytes() {
+        ByteBuffer view = asByteBuffer();
+        byte[] copy = new byte[view.remaining()];
+        view.get(copy);
+        return copy;
+    }
+
+    @Override
+    public synchronized String text() {
+        String decoded = text.get();
+        if (decoded == null) {
+            decoded = charset.decode(asByteBuffer()).toString();
+            text = new SoftReference<>(decoded);
+        }
+        return decoded;
+    }
+
+    /**
+     * Returns the text of the body decoded from the file as it is read; only
+     * the parts that are read are held on the heap.
+     *
+     * @return a new view of the text, for use from one thread
+     */
+    @Override
+    public CharSequence chars() {
+        synchronized (this) {
+            if (index == null) {
+                index = MappedText.index(this);
+            }
+        }
+        return new MappedText(this, index);
+    }
+
+    @Override
+    public ByteBuffer asByteBuffer() {
+        return mapAll().duplicate();
+    }
+
+    @Override
+    public void writeTo(Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            while (position < length) {
+                position += in.transferTo(offset + position, length - position, out);
+            }
+        }
+    }
+
+    /**
+     * Maps {@code size} bytes of the file starting at {@code position}.
+     */
+    ByteBuffer map(long position, int size) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, offset + position, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized MappedByteBuffer mapAll() {
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Body of " + length + " bytes is too large to read at once: " + path);
+        }
+        if (mapped == null) {
+            mapped = (MappedByteBuffer) map(0, (int) length);
+        }
+        return mapped;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + length + " bytes, " + path + (offset > 0 ? " at " + offset : "") + "]";
+    }
+
+    /**
+     * Stops reading once the body's bytes have been read, so a region ends
+     * before whatever follows it in the file.
+     */
+    private static final class RegionStream extends FilterInputStream {
+        private long remaining;
+
+        private RegionStream(InputStream in, long remaining) {
+            super(in);
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return len == 0 ? 0 : -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.jrelay.core.models.response;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Text of a {@link FileResponseBody}, decoded from the spool file as it is
+ * read.
+ * <p>
+ * The text is split into chunks of up to {@value #CHUNK_CHARS} characters.
+ * One decoding pass over the file, mapped a region at a time, records where
+ * each chunk starts in an {@link Index} shared by every view of the body. Reading a character then maps and decodes only the chunk that holds
+ * it. The last decoded chunk is kept, so reading forward decodes each chunk
+ * once. Text past {@link Integer#MAX_VALUE} characters cannot be addressed by
+ * a {@link CharSequence} and is cut at a chunk boundary.
+ * <p>
+ * A view keeps its decoded chunk to itself and must be used from one thread;
+ * {@link FileResponseBody#chars()} returns a new view on every call.
+ */
+final class MappedText implements CharSequence {
+
+    static final int CHUNK_CHARS = 64 * 1024;
+    private static final int REGION_BYTES = 64 * 1024 * 1024;
+
+    private final FileResponseBody body;
+    private final Index index;
+    private char[] chunk;
+    private int chunkStart;
+    private int chunkEnd;
+
+    MappedText(FileResponseBody body, Index index) {
+        this.body = body;
+        this.index = index;
+    }
+
+    @Override
+    public int length() {
+        return index.length();
+    }
+
+    @Override
+    public char charAt(int position) {
+        Objects.checkIndex(position, index.length());
+        if (position < chunkStart || position >= chunkEnd) {
+            load(position);
+        }
+        return chunk[position - chunkStart];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, index.length());
+        StringBuilder builder = new StringBuilder(end - start);
+        int position = start;
+        while (position < end) {
+            if (position < chunkStart || position >= chunkEnd) {
+                load(position);
+            }
+            int to = Math.min(chunkEnd, end);
+            builder.append(chunk, position - chunkStart, to - position);
+            position = to;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Decodes the whole text onto the heap.
+     */
+    @Override
+    public String toString() {
+        return subSequence(0, length()).toString();
+    }
+
+    /**
+     * Decodes the chunk that holds the character at {@code position}.
+     */
+    private void load(int position) {
+        if (chunk == null) {
+            chunk = new char[CHUNK_CHARS];
+        }
+        int found = Arrays.binarySearch(index.starts(), position);
+        int number = found >= 0 ? found : -found - 2;
+        long start = index.offsets()[number];
+        long end = index.offsets()[number + 1];
+        boolean last = end == body.length();
+        CharsetDecoder decoder = newDecoder(body.charset());
+        CharBuffer out = CharBuffer.wrap(chunk);
+        decoder.decode(body.map(start, (int) (end - start)), out, last);
+        if (last) {
+            decoder.flush(out);
+        }
+        chunkStart = index.starts()[number];
+        chunkEnd = chunkStart + out.position();
+    }
+
+    /**
+     * Decodes {@code body} once and records where each chunk starts.
+     * A chunk can end a character short of {@value #CHUNK_CHARS} when the
+     * next character is a surrogate pair, so character positions are
+     * recorded along with byte offsets.
+     *
+     * @param body the spooled body
+     * @return the chunk boundaries and the number of characters reachable
+     */
+    static Index index(FileResponseBody body) {
+        CharsetDecoder decoder = newDecoder(body.charset());
+        CharBuffer out = CharBuffer.allocate(CHUNK_CHARS);
+        long[] offsets = new long[16];
+        int[] starts = new int[16];
+        int count = 1;
+        long chars = 0;
+        long position = 0;
+        long length = body.length();
+        while (true) {
+            int size = (int) Math.min(REGION_BYTES, length - position);
+            boolean last = position + size == length;
+            ByteBuffer in = body.map(position, size);
+            while (decoder.decode(in, out, last).isOverflow()) {
+                chars += out.position();
+                out.clear();
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                offsets[count] = position + in.position();
+                starts[count++] = (int) chars;
+                if (chars > Integer.MAX_VALUE - CHUNK_CHARS) {
+                    return new Index(Arrays.copyOf(offsets, count), Arrays.copyOf(starts, count));
+                }
+            }
+            position += in.position();
+            if (last) {
+                break;
+            }
+        }
+        decoder.flush(out);
+        if (out.position() > 0) {
+            chars += out.position();
+            offsets = Arrays.copyOf(offsets, count + 1);
+            starts = Arrays.copyOf(starts, count + 1);
+            offsets[count] = length;
+            starts[count++] = (int) chars;
+        }
+        return new Index(Arrays.copyOf(offsets, count), Arrays.copyOf(starts, count));
+    }
+
+    private static CharsetDecoder newDecoder(Charset charset) {
+        return charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Where the chunks of a body's text start. Both arrays end with the end of
+     * the last chunk.
+     *
+     * @param offsets the byte offset of each chunk in the file
+     * @param starts  the character position of each chunk in the text
+     */
+    record Index(long[] offsets, int[] starts) {
+
+        int length() {
+            return starts[starts.length - 1];
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.jrelay.core.models.response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ByteString;
+import okio.Okio;
+
+/**
+ * {@link ResponseBody} kept on the heap as an immutable {@link ByteString}.
+ * <p>
+ * The byte string shares the segments filled while streaming the response, so
+ * building the handle does not copy the payload. The decoded text is cached
+ * after the first call to {@link #text()}.
+ */
+public final class MemoryResponseBody implements ResponseBody {
+
+    private final ByteString content;
+    private final Charset charset;
+    private volatile String text;
+
+    public MemoryResponseBody(ByteString content, Charset charset) {
+        this(content, charset, null);
+    }
+
+    MemoryResponseBody(ByteString content, Charset charset, String text) {
+        this.content = content;
+        this.charset = charset;
+        this.text = text;
+    }
+
+    @Override
+    public long length() {
+        return content.size();
+    }
+
+    @Override
+    public Charset charset() {
+        return charset;
+    }
+
+    @Override
+    public InputStream openStream() {
+        return new Buffer().write(content).inputStream();
+    }
+
+    @Override
+    public byte[] bytes() {
+        return content.toByteArray();
+    }
+
+    @Override
+    public String text() {
+        String decoded = text;
+        if (decoded == null) {
+            decoded = content.string(charset);
+            text = decoded;
+        }
+        return decoded;
+    }
+
+    @Override
+    public CharSequence chars() {
+        return text();
+    }
+
+    @Override
+    public ByteBuffer asByteBuffer() {
+        return content.asByteBuffer();
+    }
+
+    @Override
+    public void writeTo(Path target) throws IOException {
+        try (BufferedSink sink = Okio.buffer(Okio.sink(target))) {
+            sink.write(content);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "[" + content.size() + " bytes]";
+    }
+}
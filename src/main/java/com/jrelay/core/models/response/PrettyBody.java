@@ -0,0 +1,36 @@
+package com.jrelay.core.models.response;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Pretty-printed form of a text response body.
+ * <p>
+ * Formatting is deferred until the formatted view is first requested and then
+ * runs off the calling thread. The result is cached, so switching between the
+ * raw and pretty views of the same response formats it at most once.
+ */
+public final class PrettyBody {
+
+    private final Supplier<String> formatter;
+    private CompletableFuture<String> result;
+
+    /**
+     * @param formatter produces the formatted text; called at most once
+     */
+    public PrettyBody(Supplier<String> formatter) {
+        this.formatter = formatter;
+    }
+
+    /**
+     * Returns the formatted text, starting the formatting on first call.
+     *
+     * @return a future completed with the formatted text
+     */
+    public synchronized CompletableFuture<String> get() {
+        if (result == null) {
+            result = CompletableFuture.supplyAsync(formatter);
+        }
+        return result;
+    }
+}
@@ -6,24 +6,30 @@ import java.util.Map;
 import com.jrelay.core.utils.StringUtils;
 
 /**
- * Represents an HTTP response, containing status, metadata, headers, and body
- * data
- * in either text or binary form, along with error information if applicable.
+ * Represents an HTTP response, containing status, metadata, headers, and a
+ * handle to the body data, along with error information if applicable.
  * <p>
- * Provides multiple constructors to create a response with text content, binary
- * content,
- * or an error message.
+ * Whether the body is shown as text or binary is decided by its
+ * {@link ContentDisplayType}; the handle itself is decoded lazily.
  *
  * @param status       the HTTP status code of the response
  * @param duration     the time taken to receive the response, as a string
  * @param size         the size of the response, as a string
  * @param headers      a map of header names to their associated list of values
- * @param body         the response body as text (if applicable)
- * @param bodyBytes    the response body as binary data (if applicable)
+ * @param body         a read-only handle to the response payload
  * @param hasError     {@code true} if the response represents an error;
  *                     {@code false} otherwise
  * @param errorMessage the error message if {@code hasError} is {@code true},
  *                     otherwise {@code null}
+ * @param displayType  how the body content should be presented
+ * @param pretty       the lazily formatted body, or {@code null} if the body is
+ *                     not formatted
+ * @param timings      the per-phase timing of the call, or {@code null} if it
+ *                     was not measured
+ * @param connection   the protocol and stream counts of the connection, or
+ *                     {@code null} if no response was received
+ * @param cacheStatus  how the disk cache answered, or {@code null} if caching
+ *                     is off
  * @author ASDFG14N
  * @since 14-08-2025
  */
@@ -32,48 +38,36 @@ public record Response(
         String duration,
         String size,
         Map<String, List<String>> headers,
-        String body,
-        byte[] bodyBytes,
+        ResponseBody body,
         boolean hasError,
         String errorMessage,
-        ContentDisplayType displayType) {
+        ContentDisplayType displayType,
+        PrettyBody pretty,
+        Timings timings,
+        ConnectionStats connection,
+        CacheStatus cacheStatus) {
 
     /**
-     * Creates a {@link Response} instance containing text-based body content.
+     * Creates a {@link Response} instance backed by the given body handle.
      * <p>
-     * Sets the binary body to {@code null} and marks the response as non-error by
-     * default.
+     * Marks the response as non-error by default.
      *
-     * @param status   the HTTP status code of the response
-     * @param duration the time taken to receive the response, as a string
-     * @param size     the size of the response, as a string
-     * @param headers  a map of header names to their associated list of values
-     * @param bodyText the response body as text
-     * @author ASDFG14N
-     * @since 14-08-2025
-     */
-    public Response(Integer status, String duration, String size,
-                    Map<String, List<String>> headers, String bodyText, ContentDisplayType displayType) {
-        this(status, duration, size, headers, bodyText, null, false, null, displayType);
-    }
-
-    /**
-     * Creates a {@link Response} instance containing binary body content.
-     * <p>
-     * Sets the text body to {@code null} and marks the response as non-error by
-     * default.
-     *
-     * @param status    the HTTP status code of the response
-     * @param duration  the time taken to receive the response, as a string
-     * @param size      the size of the response, as a string
-     * @param headers   a map of header names to their associated list of values
-     * @param bodyBytes the response body as binary data
-     * @author ASDFG14N
-     * @since 14-08-2025
+     * @param status      the HTTP status code of the response
+     * @param duration    the time taken to receive the response, as a string
+     * @param size        the size of the response, as a string
+     * @param headers     a map of header names to their associated list of values
+     * @param body        the response body handle
+     * @param displayType how the body content should be presented
+     * @param pretty      the lazily formatted body, or {@code null}
+     * @param timings     the per-phase timing of the call, or {@code null}
+     * @param connection  the connection the response arrived on, or {@code null}
+     * @param cacheStatus how the disk cache answered, or {@code null}
      */
     public Response(Integer status, String duration, String size,
-                    Map<String, List<String>> headers, byte[] bodyBytes, ContentDisplayType displayType) {
-        this(status, duration, size, headers, null, bodyBytes, false, null, displayType);
+                    Map<String, List<String>> headers, ResponseBody body, ContentDisplayType displayType,
+                    PrettyBody pretty, Timings timings, ConnectionStats connection, CacheStatus cacheStatus) {
+        this(status, duration, size, headers, body, false, null, displayType, pretty, timings, connection,
+                cacheStatus);
     }
 
     /**
@@ -88,31 +82,31 @@ public record Response(
      * @since 14-08-2025
      */
     public Response(String errorMessage) {
-        this(0, "", "", Map.of(), null, null, true, errorMessage, null);
+        this(0, "", "", Map.of(), null, true, errorMessage, null, null, null, null, null);
     }
 
     /**
      * Checks whether the response contains text-based body content.
      *
-     * @return {@code true} if the text body is not {@code null}; {@code false}
-     * otherwise
+     * @return {@code true} if there is a body and its display type is textual;
+     * {@code false} otherwise
      * @author ASDFG14N
      * @since 14-08-2025
      */
     public boolean isText() {
-        return body != null;
+        return body != null && displayType != null && displayType.isText();
     }
 
     /**
      * Checks whether the response contains binary body content.
      *
-     * @return {@code true} if the binary body is not {@code null}; {@code false}
-     * otherwise
+     * @return {@code true} if there is a body and its display type is not
+     * textual; {@code false} otherwise
      * @author ASDFG14N
      * @since 14-08-2025
      */
     public boolean isBinary() {
-        return bodyBytes != null;
+        return body != null && !isText();
     }
 
     public String headersToString() {
@@ -0,0 +1,97 @@
+package com.jrelay.core.models.response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import okio.ByteString;
+
+/**
+ * Read-only handle to the payload of an HTTP response.
+ * <p>
+ * A handle is created once the body has been streamed from the connection and
+ * can be read any number of times. Decoding to text is deferred until
+ * {@link #text()} is called, so binary payloads never become strings and text
+ * payloads are decoded at most once.
+ */
+public interface ResponseBody {
+
+    /**
+     * Returns the number of bytes in the body as received from the network,
+     * after transfer decoding.
+     *
+     * @return the body length in bytes
+     */
+    long length();
+
+    /**
+     * Opens a new stream over the body content.
+     *
+     * @return a fresh {@link InputStream} positioned at the start of the body
+     */
+    InputStream openStream();
+
+    /**
+     * Returns the charset advertised by the response, used to decode the body
+     * as text.
+     *
+     * @return the body charset
+     */
+    Charset charset();
+
+    /**
+     * Returns a copy of the body content.
+     *
+     * @return the body as a byte array
+     */
+    byte[] bytes();
+
+    /**
+     * Returns the body decoded with the charset advertised by the response.
+     *
+     * @return the body as text
+     */
+    String text();
+
+    /**
+     * Returns the body decoded with the charset advertised by the response,
+     * without necessarily holding all of it on the heap.
+     * <p>
+     * Bodies spooled to disk decode only the parts that are read, so large
+     * payloads can be shown a window at a time.
+     *
+     * @return the body as a character sequence
+     */
+    CharSequence chars();
+
+    /**
+     * Returns a read-only view of the body content.
+     * <p>
+     * Bodies spooled to disk return a memory-mapped view of the file, so callers
+     * can inspect the content without copying it onto the heap.
+     *
+     * @return a read-only {@link ByteBuffer} positioned at the start of the body
+     */
+    ByteBuffer asByteBuffer();
+
+    /**
+     * Writes the body content to {@code target}, replacing any existing file.
+     *
+     * @param target the destination file
+     * @throws IOException if the file cannot be written
+     */
+    void writeTo(Path target) throws IOException;
+
+    /**
+     * Wraps an already decoded string as a body handle.
+     *
+     * @param text the text content
+     * @return an in-memory {@link ResponseBody}
+     */
+    static ResponseBody of(String text) {
+        return new MemoryResponseBody(ByteString.encodeUtf8(text), StandardCharsets.UTF_8, text);
+    }
+}
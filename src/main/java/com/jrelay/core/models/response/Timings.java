@@ -0,0 +1,48 @@
+package com.jrelay.core.models.response;
+
+/**
+ * Time spent in each phase of an HTTP exchange, in milliseconds.
+ * <p>
+ * Phases that did not happen, such as DNS, connect and TLS when a pooled
+ * connection was reused, are reported as {@code -1}.
+ *
+ * @param dns     resolving the host name
+ * @param connect opening the TCP connection, excluding TLS
+ * @param tls     the TLS handshake
+ * @param send    writing the request headers and body
+ * @param waiting waiting for the first response byte after the request was sent
+ * @param receive reading the response headers and body
+ * @param total   the whole call, from start to the end of the body
+ */
+public record Timings(
+        double dns,
+        double connect,
+        double tls,
+        double send,
+        double waiting,
+        double receive,
+        double total) {
+
+    /**
+     * Formats the non-negative phases, one per line.
+     *
+     * @return a human readable breakdown
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        append(sb, "DNS", dns);
+        append(sb, "TCP connect", connect);
+        append(sb, "TLS handshake", tls);
+        append(sb, "Request sent", send);
+        append(sb, "Waiting (TTFB)", waiting);
+        append(sb, "Content download", receive);
+        append(sb, "Total", total);
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, String label, double millis) {
+        if (millis >= 0) {
+            sb.append(label).append(": ").append(String.format("%.2f ms", millis)).append('\n');
+        }
+    }
+}
@@ -14,7 +14,6 @@ import java.util.Locale;
 import com.jrelay.core.models.Preference.Lang;
 import com.jrelay.core.models.Preference.Theme;
 import com.jthemedetecor.OsThemeDetector;
-import com.jthemedetecor.util.OsInfo;
 
 import lombok.Getter;
 import lombok.ToString;
@@ -36,7 +35,9 @@ import lombok.ToString;
  * Supported OS values: {@code WIN}, {@code LINUX}, {@code MACOS}.
  * Supported themes: {@code DARK}, {@code LIGHT}.
  * <p>
- * This class is immutable once instantiated.
+ * This class is immutable once instantiated. The theme is only detected the
+ * first time it is requested, so headless callers never load the theme
+ * detector or the windowing toolkit it relies on.
  * <p>
  *
  * @author @ASDG14N
@@ -52,19 +53,17 @@ public class OsManager {
     @Getter
     private final Os operatingSystem;
 
-    @Getter
-    private final Theme theme;
+    @Getter(lazy = true)
+    private final Theme theme = detectTheme();
 
     @Getter
     private final Lang language;
 
     /**
-     * Constructs a new {@code OsManager}, performing OS, theme, and language
-     * detection.
+     * Constructs a new {@code OsManager}, performing OS and language detection.
      */
     private OsManager() {
         this.operatingSystem = detectOs();
-        this.theme = detectTheme();
         this.language = detectLanguage();
     }
 
@@ -85,7 +84,7 @@ public class OsManager {
         String os = System.getProperty("os.name").toLowerCase();
         if (os.contains("windows"))
             return Os.WIN;
-        if (OsInfo.isLinux())
+        if (os.contains("linux"))
             return Os.LINUX;
         if (os.contains("mac"))
             return Os.MACOS;
@@ -118,8 +117,7 @@ public class OsManager {
     }
 
     public void putInClipboard(String contents) {
-        StringSelection selection = new StringSelection(contents);
-        Toolkit.getDefaultToolkit().getSystemClipboard().setContents(selection, null);
+        SystemClipboard.put(contents);
     }
 
     /**
@@ -206,4 +204,14 @@ public class OsManager {
         return path;
     }
 
+    /**
+     * Kept in its own class so that loading {@code OsManager} in a headless
+     * process does not pull in the AWT data transfer classes.
+     */
+    private static final class SystemClipboard {
+        private static void put(String contents) {
+            StringSelection selection = new StringSelection(contents);
+            Toolkit.getDefaultToolkit().getSystemClipboard().setContents(selection, null);
+        }
+    }
 }
@@ -2,20 +2,47 @@ package com.jrelay.core.repository;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.jrelay.core.models.Collection;
 import com.jrelay.core.models.request.Request;
+import com.jrelay.core.utils.SearchIndex;
 
-public class CollectionRepository extends JsonRepository<List<Collection>> {
+/**
+ * Repository of collections and their requests.
+ * <p>
+ * The collections file can grow large, so mutations are journaled as
+ * idempotent upserts and deletes keyed by id instead of rewriting the whole
+ * file each time. Collections and requests are also indexed by id, so lookups
+ * do not scan the workspace, and by the words they contain for
+ * {@link #search(String)}.
+ */
+public class CollectionRepository extends JournaledJsonRepository<List<Collection>> {
+
+    private static final String PUT_COLLECTION = "putCollection";
+    private static final String DELETE_COLLECTION = "deleteCollection";
+    private static final String PUT_REQUEST = "putRequest";
+    private static final String DELETE_REQUEST = "deleteRequest";
 
     private final List<Collection> collections;
+    private final Map<String, Collection> collectionsById = new HashMap<>();
+    private final Map<RequestKey, Request> requestsById = new HashMap<>();
+    private final SearchIndex<String> collectionIndex = new SearchIndex<>();
+    private final SearchIndex<RequestKey> requestIndex = new SearchIndex<>();
 
     public CollectionRepository(String path) {
         super(path, new TypeReference<>() {
         });
         this.collections = loadOrDefault(new ArrayList<>());
+        collections.forEach(this::index);
+        replayJournal();
     }
 
     public List<Collection> findAll() {
@@ -24,6 +51,24 @@ public class CollectionRepository extends JsonRepository<List<Collection>> {
 
     public void saveCollection(Collection collection) {
         collections.add(collection);
+        index(collection);
+        journal(PUT_COLLECTION, collection);
+    }
+
+    /**
+     * Adds several collections at once, such as the result of an import.
+     * <p>
+     * Unlike {@link #saveCollection}, nothing is journaled: a single snapshot
+     * write is scheduled for the whole batch, which is cheaper than one journal
+     * entry per collection when they hold many requests.
+     *
+     * @param imported the collections to add, with their requests
+     */
+    public void saveCollections(List<Collection> imported) {
+        for (Collection collection : imported) {
+            collections.add(collection);
+            index(collection);
+        }
         setEntity(collections);
     }
 
@@ -34,39 +79,71 @@ public class CollectionRepository extends JsonRepository<List<Collection>> {
             throw new RepositoryException("Collection with id " + idCollection + " not found", null);
         }
         collection.getRequests().add(request);
-        setEntity(collections);
+        indexRequest(idCollection, request);
+        journal(PUT_REQUEST, request);
     }
 
     public Collection findCollectionById(String id) {
-        return collections.stream()
-                .filter(c -> c.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return collectionsById.get(id);
     }
 
     public Request findRequestById(String collectionId, String requestId) {
-        Collection collection = findCollectionById(collectionId);
-        if (collection == null) {
-            return null;
+        return requestsById.get(new RequestKey(collectionId, requestId));
+    }
+
+    /**
+     * Finds the collections whose name, and the requests whose name, URL,
+     * headers or body, contain words starting with each word of
+     * {@code query}. Collections and requests whose name contains
+     * {@code query} anywhere, ignoring case, match as well, so a fragment
+     * from the middle of a name such as {@code "user"} in
+     * {@code "getUserById"} still finds it.
+     *
+     * @param query the text typed by the user
+     * @return matching {@link Collection} and {@link Request} objects in
+     *         workspace order
+     */
+    public List<Object> search(String query) {
+        Set<String> collectionHits = collectionIndex.search(query);
+        Map<String, Set<String>> requestHits = new HashMap<>();
+        for (RequestKey key : requestIndex.search(query)) {
+            requestHits.computeIfAbsent(key.idCollection(), id -> new HashSet<>()).add(key.idRequest());
+        }
+        String fragment = query.trim().toLowerCase(Locale.ROOT);
+        List<Object> results = new ArrayList<>();
+        for (Collection collection : collections) {
+            if (collectionHits.contains(collection.getId()) || nameContains(collection.getName(), fragment)) {
+                results.add(collection);
+            }
+            Set<String> requestIds = requestHits.getOrDefault(collection.getId(), Set.of());
+            for (Request request : collection.getRequests()) {
+                if (requestIds.contains(request.getIdRequest()) || nameContains(request.getName(), fragment)) {
+                    results.add(request);
+                }
+            }
         }
-        return findRequestByIdInList(requestId, collection.getRequests());
+        return results;
+    }
+
+    private static boolean nameContains(String name, String fragment) {
+        return !fragment.isEmpty() && name != null && name.toLowerCase(Locale.ROOT).contains(fragment);
     }
 
     public void deleteCollectionById(String id) {
-        boolean removed = collections.removeIf(c -> c.getId().equals(id));
-        if (removed) {
-            setEntity(collections);
+        Collection collection = collectionsById.get(id);
+        if (collection != null) {
+            collections.remove(collection);
+            unindex(collection);
+            journal(DELETE_COLLECTION, id);
         }
     }
 
     public void deleteRequestById(String collectionId, String requestId) {
         Collection collection = findCollectionById(collectionId);
-        if (collection == null) {
-            return;
-        }
-        boolean removed = collection.getRequests().removeIf(r -> r.getIdRequest().equals(requestId));
-        if (removed) {
-            setEntity(collections);
+        Request request = unindexRequest(new RequestKey(collectionId, requestId));
+        if (collection != null && request != null) {
+            collection.getRequests().removeIf(r -> r == request);
+            journal(DELETE_REQUEST, new RequestKey(collectionId, requestId));
         }
     }
 
@@ -75,7 +152,7 @@ public class CollectionRepository extends JsonRepository<List<Collection>> {
         if (collection == null) {
             throw new RepositoryException("Collection with id " + collectionId + " not found", null);
         }
-        Request req = findRequestByIdInList(requestId, collection.getRequests());
+        Request req = findRequestById(collectionId, requestId);
         if (req == null) {
             throw new RepositoryException("Request with id " + requestId + " not found in collection " + collectionId,
                     null);
@@ -87,13 +164,87 @@ public class CollectionRepository extends JsonRepository<List<Collection>> {
         req.setHeaders(request.getHeaders());
         req.setAuth(request.getAuth());
         req.setBody(request.getBody());
-        setEntity(collections);
+        req.setHttpVersion(request.getHttpVersion());
+        indexRequest(collectionId, req);
+        journal(PUT_REQUEST, req);
+    }
+
+    @Override
+    protected void replay(String op, JsonNode data) {
+        switch (op) {
+            case PUT_COLLECTION -> {
+                Collection collection = convert(data, Collection.class);
+                Collection existing = findCollectionById(collection.getId());
+                if (existing != null) {
+                    unindex(existing);
+                    collections.set(collections.indexOf(existing), collection);
+                } else {
+                    collections.add(collection);
+                }
+                index(collection);
+            }
+            case DELETE_COLLECTION -> {
+                Collection collection = collectionsById.get(data.asText());
+                if (collection != null) {
+                    collections.remove(collection);
+                    unindex(collection);
+                }
+            }
+            case PUT_REQUEST -> {
+                Request request = convert(data, Request.class);
+                Collection collection = findCollectionById(request.getIdCollection());
+                if (collection != null) {
+                    Request existing = indexRequest(collection.getId(), request);
+                    List<Request> requests = collection.getRequests();
+                    if (existing != null) {
+                        requests.set(requests.indexOf(existing), request);
+                    } else {
+                        requests.add(request);
+                    }
+                }
+            }
+            case DELETE_REQUEST -> {
+                RequestKey key = convert(data, RequestKey.class);
+                Collection collection = findCollectionById(key.idCollection());
+                Request request = unindexRequest(key);
+                if (collection != null && request != null) {
+                    collection.getRequests().removeIf(r -> r == request);
+                }
+            }
+            default -> throw new RepositoryException("Unknown journal operation " + op, null);
+        }
+    }
+
+    private void index(Collection collection) {
+        collectionsById.put(collection.getId(), collection);
+        collectionIndex.put(collection.getId(), collection.getName());
+        if (collection.getRequests() == null) {
+            collection.setRequests(new ArrayList<>());
+        }
+        for (Request request : collection.getRequests()) {
+            indexRequest(collection.getId(), request);
+        }
+    }
+
+    private void unindex(Collection collection) {
+        collectionsById.remove(collection.getId());
+        collectionIndex.remove(collection.getId());
+        for (Request request : collection.getRequests()) {
+            unindexRequest(new RequestKey(collection.getId(), request.getIdRequest()));
+        }
+    }
+
+    private Request indexRequest(String collectionId, Request request) {
+        RequestKey key = new RequestKey(collectionId, request.getIdRequest());
+        requestIndex.put(key, SearchIndex.fieldsOf(request));
+        return requestsById.put(key, request);
+    }
+
+    private Request unindexRequest(RequestKey key) {
+        requestIndex.remove(key);
+        return requestsById.remove(key);
     }
 
-    private Request findRequestByIdInList(String id, List<Request> requests) {
-        return requests.stream()
-                .filter(r -> r.getIdRequest().equals(id))
-                .findFirst()
-                .orElse(null);
+    private record RequestKey(String idCollection, String idRequest) {
     }
 }
@@ -2,10 +2,10 @@ package com.jrelay.core.repository;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.jrelay.core.models.Environment;
@@ -16,6 +16,7 @@ public class EnvironmentRepository extends JsonRepository<List<Environment>> {
 
     @Getter
     private final List<Environment> environments;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
 
     public EnvironmentRepository(String path) {
         super(path, new TypeReference<>() {
@@ -42,27 +43,51 @@ public class EnvironmentRepository extends JsonRepository<List<Environment>> {
         }
         envFind.setName(environment.getName());
         envFind.setVariables(environment.getVariables());
+        snapshots.remove(environment.getId());
         setEntity(environments);
     }
 
     public void deleteById(String id) {
         boolean removed = environments.removeIf(e -> e.getId().equals(id));
+        snapshots.remove(id);
         if (removed) {
             setEntity(environments);
         }
     }
 
+    /**
+     * Returns the enabled variables of {@code environment} as an immutable
+     * snapshot.
+     * <p>
+     * The snapshot is built once per variable list and reused until the
+     * environment is updated, so resolving a request does not rebuild the map.
+     *
+     * @param environment the selected environment, may be {@code null}
+     * @return the variable values by name
+     */
     public Map<String, String> findVariablesByEnvironment(Environment environment) {
         if (environment == null || environment.getVariables() == null) {
             return Collections.emptyMap();
         }
+        List<Environment.Variable> variables = environment.getVariables();
+        Snapshot snapshot = snapshots.get(environment.getId());
+        if (snapshot == null || snapshot.source() != variables) {
+            snapshot = new Snapshot(variables, toMap(variables));
+            snapshots.put(environment.getId(), snapshot);
+        }
+        return snapshot.values();
+    }
+
+    private static Map<String, String> toMap(List<Environment.Variable> variables) {
+        Map<String, String> values = new HashMap<>();
+        for (Environment.Variable variable : variables) {
+            if (variable.isEnabled() && variable.getKey() != null && variable.getInitialValue() != null) {
+                values.put(variable.getKey(), variable.getInitialValue());
+            }
+        }
+        return Map.copyOf(values);
+    }
 
-        return environment.getVariables().stream()
-                .filter(Environment.Variable::isEnabled)
-                .collect(Collectors.toMap(
-                        Environment.Variable::getKey,
-                        Environment.Variable::getInitialValue,
-                        (v1, v2) -> v2,
-                        LinkedHashMap::new));
+    private record Snapshot(List<Environment.Variable> source, Map<String, String> values) {
     }
 }
\ No newline at end of file
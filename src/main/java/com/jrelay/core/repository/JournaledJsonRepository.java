@@ -0,0 +1,120 @@
+package com.jrelay.core.repository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * {@link JsonRepository} that records mutations in an append-only journal
+ * instead of rewriting the whole file each time.
+ * <p>
+ * Subclasses apply a mutation to the entity, then {@link #journal} it. The
+ * background writer appends the entry to a {@code .journal} file next to the
+ * snapshot and folds the journal into a new snapshot once it grows long enough
+ * or on shutdown. When the repository is opened, {@link #replayJournal()}
+ * passes every entry left over by a crash to {@link #replay}, which each
+ * subclass implements for the operations it journals.
+ */
+public abstract class JournaledJsonRepository<T> extends JsonRepository<T> {
+
+    private final ObjectWriter journalWriter;
+
+    protected JournaledJsonRepository(String name, TypeReference<T> typeRef) {
+        super(name, typeRef);
+        this.journalWriter = getObjectMapper().writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Records a mutation already applied to the entity in the journal instead
+     * of rewriting the whole file.
+     * <p>
+     * The entry is serialized on the calling thread and appended by the
+     * background writer. Replaying must be idempotent, since entries written
+     * while a snapshot was being taken may be applied to a snapshot that
+     * already contains them.
+     *
+     * @param op   the mutation name passed back to {@link #replay}
+     * @param data the mutation payload
+     */
+    protected void journal(String op, Object data) {
+        byte[] line;
+        try {
+            ObjectNode node = getObjectMapper().createObjectNode();
+            node.put("op", op);
+            node.set("data", getObjectMapper().valueToTree(data));
+            line = (journalWriter.writeValueAsString(node) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException e) {
+            throw new RepositoryException("Error journaling " + op + " for " + getStorageFile(), e);
+        }
+        appendToJournal(line);
+    }
+
+    /**
+     * Applies one journal entry to the loaded entity.
+     *
+     * @param op   the mutation name
+     * @param data the mutation payload
+     */
+    protected abstract void replay(String op, JsonNode data);
+
+    /**
+     * Converts a journal payload back to a model object.
+     */
+    protected <V> V convert(JsonNode data, Class<V> type) {
+        try {
+            return getObjectMapper().treeToValue(data, type);
+        } catch (IOException e) {
+            throw new RepositoryException("Error reading journal entry for " + getStorageFile(), e);
+        }
+    }
+
+    /**
+     * Applies the entries left in the journal by a previous session that did not
+     * shut down cleanly, then folds them into a new snapshot.
+     * <p>
+     * Must be called once the entity returned by {@link #loadOrDefault} has been
+     * assigned. A truncated last line, left by a crash during an append, ends
+     * the replay.
+     */
+    protected void replayJournal() {
+        Path journalFile = getJournalFile();
+        if (!Files.exists(journalFile)) {
+            return;
+        }
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node;
+                try {
+                    node = getObjectMapper().readTree(line);
+                } catch (IOException e) {
+                    break;
+                }
+                replay(node.path("op").asText(), node.path("data"));
+                replayed++;
+            }
+        } catch (IOException e) {
+            throw new RepositoryException("Error replaying journal " + journalFile, e);
+        }
+        if (replayed > 0) {
+            save();
+        }
+        try {
+            Files.deleteIfExists(journalFile);
+        } catch (IOException e) {
+            throw new RepositoryException("Error deleting journal " + journalFile, e);
+        }
+    }
+}
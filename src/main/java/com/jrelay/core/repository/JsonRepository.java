@@ -1,33 +1,86 @@
 package com.jrelay.core.repository;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.jrelay.core.os.OsManager;
 import lombok.Getter;
 
+/**
+ * Stores a single entity as a JSON file in the application data directory.
+ * <p>
+ * Updates made through {@link #setEntity(Object)} are written behind: the
+ * repository is marked dirty and a background thread writes it after
+ * {@value #FLUSH_DELAY_MILLIS} ms, so a burst of updates costs one write and
+ * the calling thread, usually the EDT, never waits for the disk. Call
+ * {@link #flushAll()} before exiting so the latest state is not lost.
+ * <p>
+ * The file is never written in place: a snapshot goes to a temporary file that
+ * is synced and then atomically renamed over the previous one, so a crash
+ * leaves either the old or the new content. The directory is synced after the
+ * rename where the platform allows it, so the rename itself survives a power
+ * loss. Repositories holding large entities extend
+ * {@link JournaledJsonRepository} instead, which appends small mutations to a
+ * {@code .journal} file next to it; the snapshot is then only rewritten every
+ * {@value #COMPACT_THRESHOLD} entries or on shutdown.
+ */
 public class JsonRepository<T> {
+
+    private static final long FLUSH_DELAY_MILLIS = 500;
+    private static final int COMPACT_THRESHOLD = 200;
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "repository-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final List<JsonRepository<?>> REPOSITORIES = new CopyOnWriteArrayList<>();
+
     private final File storageFile;
+    private final Path tempFile;
+    private final Path journalFile;
     private final ObjectMapper objectMapper;
     private final TypeReference<T> typeRef;
+    private final Object writeLock = new Object();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong unjournaledVersion = new AtomicLong();
+    private long savedVersion;
+    private int journalEntries;
+    private ScheduledFuture<?> pendingFlush;
     @Getter
-    private T entity;
+    private volatile T entity;
 
     public JsonRepository(String name, TypeReference<T> typeRef) {
         this.storageFile = Paths.get(OsManager.getInstance().appDataDir(), name).toFile();
+        this.tempFile = storageFile.toPath().resolveSibling(name + ".tmp");
+        this.journalFile = storageFile.toPath().resolveSibling(name + ".journal");
         this.objectMapper = new ObjectMapper()
                 .enable(SerializationFeature.INDENT_OUTPUT)
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         this.typeRef = typeRef;
+        REPOSITORIES.add(this);
     }
 
-
     /**
      * Loads the entity from the storage file if it exists; otherwise,
      * it assigns and saves the provided default value.
@@ -66,7 +119,9 @@ public class JsonRepository<T> {
      * Persists the current entity into the storage file in JSON format
      * using a pretty-printed structure for readability.
      * <p>
-     * If an error occurs while writing to the file, a
+     * The content is written to a temporary file, synced to disk and renamed
+     * over the storage file, so the previous content stays intact if the write
+     * is interrupted. If an error occurs while writing to the file, a
      * {@link RepositoryException} is thrown.
      * </p>
      *
@@ -76,15 +131,185 @@ public class JsonRepository<T> {
      */
     public void save() {
         try {
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(storageFile, entity);
-        } catch (IOException e) {
+            try (FileOutputStream out = new FileOutputStream(tempFile.toFile())) {
+                objectMapper.writerWithDefaultPrettyPrinter()
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .writeValue(out, entity);
+                out.getFD().sync();
+            }
+            try {
+                Files.move(tempFile, storageFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, storageFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
             throw new RepositoryException("Error saving entity to " + storageFile, e);
         }
+        syncDirectory();
+    }
+
+    /**
+     * Forces the directory entry written by the rename to disk. Some
+     * platforms, such as Windows, cannot open a directory as a channel; the
+     * rename is then left to the file system.
+     */
+    private void syncDirectory() {
+        try (FileChannel directory = FileChannel.open(storageFile.toPath().toAbsolutePath().getParent(),
+                StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException | RuntimeException e) {
+            // not supported on this platform
+        }
     }
 
+    /**
+     * Replaces the entity and schedules it to be written.
+     * <p>
+     * Updates arriving before the scheduled write runs are merged into it.
+     *
+     * @param entity the new state
+     */
     public void setEntity(T entity) {
         this.entity = entity;
-        save();
+        unjournaledVersion.set(version.incrementAndGet());
+        scheduleFlush();
+    }
+
+    /**
+     * Schedules {@code line} to be appended to the journal by the background
+     * writer. Used by {@link JournaledJsonRepository}.
+     */
+    void appendToJournal(byte[] line) {
+        version.incrementAndGet();
+        WRITER.execute(() -> {
+            try {
+                append(line);
+            } catch (RepositoryException e) {
+                System.err.println(e.getMessage());
+            }
+        });
+    }
+
+    Path getJournalFile() {
+        return journalFile;
+    }
+
+    ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    File getStorageFile() {
+        return storageFile;
+    }
+
+    /**
+     * Writes the entity now if it has changed since the last write.
+     * <p>
+     * Subclasses mutate the entity in place, so a write running on the
+     * background thread can race a mutation on the EDT and fail. Every mutation
+     * is followed by {@link #setEntity(Object)}, which bumps the version; a
+     * failed write is therefore retried as long as a newer version exists and
+     * only reported when the state it was writing is still the latest.
+     *
+     * @throws RepositoryException if the latest state cannot be written
+     */
+    public void flush() {
+        writeSnapshot(false);
+    }
+
+    /**
+     * Writes a snapshot when there are changes not covered by the journal, or,
+     * with {@code compact}, whenever there are changes at all. The journal is
+     * cleared once the snapshot is in place.
+     */
+    private void writeSnapshot(boolean compact) {
+        synchronized (writeLock) {
+            long covered = compact ? version.get() : unjournaledVersion.get();
+            if (covered <= savedVersion) {
+                return;
+            }
+            long target = version.get();
+            while (true) {
+                try {
+                    save();
+                    savedVersion = target;
+                    clearJournal();
+                    return;
+                } catch (RepositoryException e) {
+                    if (version.get() == target) {
+                        throw e;
+                    }
+                }
+                target = version.get();
+            }
+        }
+    }
+
+    private void append(byte[] line) {
+        synchronized (writeLock) {
+            try (FileChannel channel = FileChannel.open(journalFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(line));
+                channel.force(false);
+            } catch (IOException e) {
+                throw new RepositoryException("Error appending to journal " + journalFile, e);
+            }
+            if (++journalEntries >= COMPACT_THRESHOLD) {
+                writeSnapshot(true);
+            }
+        }
+    }
+
+    private void clearJournal() {
+        if (journalEntries == 0) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(journalFile);
+            journalEntries = 0;
+        } catch (IOException e) {
+            throw new RepositoryException("Error clearing journal " + journalFile, e);
+        }
+    }
+
+    /**
+     * Writes every repository with pending changes. Intended to be called on
+     * shutdown.
+     */
+    public static void flushAll() {
+        for (JsonRepository<?> repository : REPOSITORIES) {
+            repository.cancelPendingFlush();
+            try {
+                repository.writeSnapshot(true);
+            } catch (RepositoryException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void scheduleFlush() {
+        if (pendingFlush == null) {
+            pendingFlush = WRITER.schedule(this::flushPending, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void cancelPendingFlush() {
+        if (pendingFlush != null) {
+            pendingFlush.cancel(false);
+            pendingFlush = null;
+        }
+    }
+
+    private void flushPending() {
+        synchronized (this) {
+            pendingFlush = null;
+        }
+        try {
+            flush();
+        } catch (RepositoryException e) {
+            System.err.println(e.getMessage());
+        }
     }
 
     /**
@@ -23,6 +23,18 @@ public class PreferenceRepository extends JsonRepository<Preference> {
         preference.setLang(arg.getLang());
         preference.setTheme(arg.getTheme());
         preference.setAccentColor(arg.getAccentColor());
+        preference.setSpillThreshold(arg.getSpillThreshold());
+        preference.setMaxIdleConnections(arg.getMaxIdleConnections());
+        preference.setKeepAliveSeconds(arg.getKeepAliveSeconds());
+        preference.setMaxRequests(arg.getMaxRequests());
+        preference.setMaxRequestsPerHost(arg.getMaxRequestsPerHost());
+        preference.setExecutionMode(arg.getExecutionMode());
+        preference.setCacheEnabled(arg.isCacheEnabled());
+        preference.setCacheMaxBytes(arg.getCacheMaxBytes());
+        preference.setForceNoCache(arg.isForceNoCache());
+        preference.setHistoryMaxEntries(arg.getHistoryMaxEntries());
+        preference.setHistoryMaxAgeDays(arg.getHistoryMaxAgeDays());
+        preference.setHistoryMaxBytes(arg.getHistoryMaxBytes());
         setEntity(preference);
     }
 
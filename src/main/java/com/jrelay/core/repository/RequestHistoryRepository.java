@@ -1,46 +1,529 @@
 package com.jrelay.core.repository;
 
-import java.util.Collections;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jrelay.core.models.HistoryResponse;
+import com.jrelay.core.models.HistoryResponse.StoredBody;
 import com.jrelay.core.models.RequestHistory;
+import com.jrelay.core.models.response.Response;
+import com.jrelay.core.models.response.ResponseBody;
+import com.jrelay.core.os.OsManager;
+import com.jrelay.core.repository.JsonRepository.RepositoryException;
+import com.jrelay.core.utils.SearchIndex;
 
-public class RequestHistoryRepository extends JsonRepository<List<RequestHistory>> {
+import lombok.Getter;
 
-    private static final int MAX_ENTRIES = 100;
+/**
+ * Request history kept as an append-only log of JSON-lines segment files.
+ * <p>
+ * Each entry is one line appended to the active segment, so adding an entry
+ * costs the same regardless of how much history exists. The response is
+ * appended as a second line once it arrives; its body is appended to a
+ * {@code .body} file kept alongside the segment and referenced by offset, so
+ * the log itself stays small. Bodies over {@value #MAX_BODY_BYTES} bytes are
+ * not kept. Deletes are appended as tombstones and applied when the log is
+ * read back. Once the active segment and its body file reach
+ * {@value #SEGMENT_BYTES} bytes a new segment is started, and whole
+ * segments are dropped from the oldest end when the {@link Retention} limits
+ * are exceeded, together with their body files. Age is judged by the time a
+ * segment was last written to.
+ * An entry cut short by a crash during an append is removed from the newest
+ * segment when the log is opened, so later entries start on a line of their
+ * own.
+ * <p>
+ * Entries kept in memory are indexed by the words of their request for
+ * {@link #search(String)}. A {@code history.json} file left by earlier versions
+ * is imported into the log the first time it is opened.
+ */
+public class RequestHistoryRepository {
 
-    private final List<RequestHistory> history;
+    private static final long SEGMENT_BYTES = 1024 * 1024;
+    private static final String SEGMENT_SUFFIX = ".jsonl";
+    private static final String BODY_SUFFIX = ".body";
+    private static final long MAX_BODY_BYTES = 4L * 1024 * 1024;
+    private static final String LEGACY_FILE = "history.json";
 
-    public RequestHistoryRepository(String path) {
-        super(path, new TypeReference<>() {
-        });
-        this.history = loadOrDefault(new LinkedList<>());
+    private final Path directory;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final LinkedList<Entry> history = new LinkedList<>();
+    private final SearchIndex<Entry> index = new SearchIndex<>();
+    @Getter
+    private final Retention retention;
+    private FileChannel active;
+    private FileChannel activeBodies;
+    private long nextSequence;
+
+    public RequestHistoryRepository(String name) {
+        this(name, Retention.DEFAULT);
+    }
+
+    public RequestHistoryRepository(String name, Retention retention) {
+        this.directory = Paths.get(OsManager.getInstance().appDataDir(), name);
+        this.retention = retention;
+        try {
+            Files.createDirectories(directory);
+            load();
+            importLegacyFile();
+            enforceRetention();
+        } catch (IOException e) {
+            throw new RepositoryException("Error loading history from " + directory, e);
+        }
+    }
+
+    public synchronized List<RequestHistory> findAll() {
+        return history.stream().map(Entry::value).toList();
     }
 
-    public List<RequestHistory> findAll() {
-        return Collections.unmodifiableList(history);
+    /**
+     * Finds the entries whose request name, URL, headers or body contain words
+     * starting with each word of {@code query}.
+     *
+     * @param query the text typed by the user
+     * @return the matching entries, oldest first
+     */
+    public synchronized List<RequestHistory> search(String query) {
+        var hits = index.search(query);
+        return history.stream().filter(hits::contains).map(Entry::value).toList();
     }
 
-    public void add(RequestHistory requestHistory) {
-        if (history.size() >= MAX_ENTRIES) {
-            history.removeFirst();
+    public synchronized void add(RequestHistory requestHistory) {
+        Segment segment = append(objectMapper.valueToTree(requestHistory));
+        addEntry(new Entry(requestHistory, segment));
+        enforceRetention();
+    }
+
+    /**
+     * Records the response received by the entry sent at {@code timestamp}.
+     * Nothing is recorded if the entry has been deleted in the meantime.
+     * <p>
+     * The body is copied while the call runs, so this should not be called from
+     * the event dispatch thread.
+     *
+     * @param timestamp the timestamp of the entry
+     * @param response  the response it received
+     */
+    public synchronized void complete(String timestamp, Response response) {
+        Entry entry = findEntry(timestamp);
+        if (entry == null) {
+            return;
         }
-        history.add(requestHistory);
-        setEntity(history);
+        Segment segment = writableSegment();
+        StoredBody body = storeBody(segment, response.body());
+        HistoryResponse recorded = HistoryResponse.of(response, body);
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("received", timestamp);
+        node.set("response", objectMapper.valueToTree(recorded));
+        writeLine(segment, node);
+        entry.value = entry.value.withResponse(recorded);
+        enforceRetention();
+    }
+
+    /**
+     * Rebuilds the response recorded for {@code requestHistory}, with a body
+     * read from the history directory.
+     *
+     * @param requestHistory an entry returned by this repository
+     * @return the response, or {@code null} if none was recorded
+     */
+    public Response responseOf(RequestHistory requestHistory) {
+        HistoryResponse response = requestHistory.response();
+        return response != null ? response.toResponse(directory) : null;
     }
 
-    public boolean delete(String timestamp) {
-        boolean removed = history.removeIf(r -> r.timestamp().equals(timestamp));
+    public synchronized boolean delete(String timestamp) {
+        boolean removed = removeEntries(e -> e.value().timestamp().equals(timestamp));
         if (removed) {
-            setEntity(history);
+            ObjectNode tombstone = objectMapper.createObjectNode();
+            tombstone.put("deleted", timestamp);
+            append(tombstone);
         }
         return removed;
     }
 
-    public void clearHistory() {
+    public synchronized void clearHistory() {
         history.clear();
-        setEntity(history);
+        index.clear();
+        closeActive();
+        while (!segments.isEmpty()) {
+            deleteSegment(segments.removeFirst());
+        }
+    }
+
+    private void load() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+        if (!files.isEmpty()) {
+            truncateTornLine(files.get(files.size() - 1));
+        }
+        deleteOrphanBodies();
+        for (Path file : files) {
+            Segment segment = new Segment(directory, sequenceOf(file));
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        readLine(line, segment);
+                    }
+                }
+            }
+            segment.bytes = Files.size(file);
+            if (Files.exists(segment.bodies)) {
+                segment.bytes += Files.size(segment.bodies);
+            }
+            segments.addLast(segment);
+            nextSequence = segment.sequence + 1;
+        }
+    }
+
+    /**
+     * Deletes body files whose segment is gone, left when a crash interrupted
+     * the deletion of a segment.
+     */
+    private void deleteOrphanBodies() throws IOException {
+        List<Path> bodies;
+        try (Stream<Path> stream = Files.list(directory)) {
+            bodies = stream.filter(p -> p.getFileName().toString().endsWith(BODY_SUFFIX)).toList();
+        }
+        for (Path body : bodies) {
+            String name = body.getFileName().toString();
+            Path segment = body.resolveSibling(name.substring(0, name.length() - BODY_SUFFIX.length()) + SEGMENT_SUFFIX);
+            if (!Files.exists(segment)) {
+                Files.delete(body);
+            }
+        }
+    }
+
+    /**
+     * Removes the bytes after the last line break of {@code file}. Appends
+     * always end with a line break, so anything after it is what remains of
+     * an entry whose write was interrupted.
+     */
+    private static void truncateTornLine(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            while (end > 0) {
+                int length = (int) Math.min(buffer.capacity(), end);
+                long start = end - length;
+                buffer.clear().limit(length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) {
+                        break;
+                    }
+                }
+                for (int i = length - 1; i >= 0; i--) {
+                    if (buffer.get(i) == '\n') {
+                        truncate(channel, start + i + 1);
+                        return;
+                    }
+                }
+                end = start;
+            }
+            truncate(channel, 0);
+        }
+    }
+
+    private static void truncate(FileChannel channel, long size) throws IOException {
+        if (size < channel.size()) {
+            channel.truncate(size);
+            channel.force(true);
+        }
+    }
+
+    private void readLine(String line, Segment segment) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            return;
+        }
+        if (node.has("deleted")) {
+            String timestamp = node.get("deleted").asText();
+            removeEntries(e -> e.value().timestamp().equals(timestamp));
+            return;
+        }
+        if (node.has("received")) {
+            Entry entry = findEntry(node.get("received").asText());
+            if (entry != null) {
+                try {
+                    entry.value = entry.value.withResponse(
+                            objectMapper.treeToValue(node.get("response"), HistoryResponse.class));
+                } catch (IOException e) {
+                    // Keep the request without its response.
+                }
+            }
+            return;
+        }
+        try {
+            addEntry(new Entry(objectMapper.treeToValue(node, RequestHistory.class), segment));
+        } catch (IOException e) {
+            // An entry the current model cannot read is skipped rather than
+            // hiding the rest of the history.
+        }
+    }
+
+    private void importLegacyFile() throws IOException {
+        Path legacy = directory.resolveSibling(LEGACY_FILE);
+        if (!Files.exists(legacy)) {
+            return;
+        }
+        if (segments.isEmpty()) {
+            List<RequestHistory> entries = objectMapper.readValue(legacy.toFile(), new TypeReference<>() {
+            });
+            for (RequestHistory entry : entries) {
+                addEntry(new Entry(entry, append(objectMapper.valueToTree(entry))));
+            }
+        }
+        Files.delete(legacy);
+    }
+
+    private Segment append(JsonNode node) {
+        Segment segment = writableSegment();
+        writeLine(segment, node);
+        return segment;
+    }
+
+    /**
+     * Returns the segment to append to, starting a new one when the active
+     * segment is full.
+     */
+    private Segment writableSegment() {
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.bytes >= SEGMENT_BYTES) {
+            closeActive();
+            long sequence = nextSequence++;
+            segment = new Segment(directory, sequence);
+            segments.addLast(segment);
+        }
+        return segment;
+    }
+
+    private void writeLine(Segment segment, JsonNode node) {
+        byte[] line;
+        try {
+            line = (objectMapper.writeValueAsString(node) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RepositoryException("Error encoding history entry", e);
+        }
+        try {
+            if (active == null) {
+                active = FileChannel.open(segment.path,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            active.write(ByteBuffer.wrap(line));
+            segment.bytes += line.length;
+        } catch (IOException e) {
+            throw new RepositoryException("Error appending to history in " + directory, e);
+        }
+    }
+
+    /**
+     * Appends {@code body} to the body file of {@code segment}. A body left
+     * without its line by a crash is never referenced and goes away with the
+     * segment.
+     *
+     * @return where the body was stored, or {@code null} if it is empty or
+     *         larger than {@value #MAX_BODY_BYTES} bytes
+     */
+    private StoredBody storeBody(Segment segment, ResponseBody body) {
+        if (body == null || body.length() == 0 || body.length() > MAX_BODY_BYTES) {
+            return null;
+        }
+        try {
+            if (activeBodies == null) {
+                activeBodies = FileChannel.open(segment.bodies,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            long offset = activeBodies.size();
+            long length;
+            try (InputStream in = body.openStream()) {
+                length = in.transferTo(Channels.newOutputStream(activeBodies));
+            }
+            segment.bytes += length;
+            return new StoredBody(segment.bodies.getFileName().toString(), offset, length, body.charset().name());
+        } catch (IOException | UncheckedIOException e) {
+            throw new RepositoryException("Error storing response body in " + directory, e);
+        }
+    }
+
+    /**
+     * Trims the in-memory view to the entry limit and drops segments from the
+     * oldest end once none of their entries are kept, or while the size or age
+     * limit is exceeded. The active segment is always kept.
+     */
+    private void enforceRetention() {
+        while (history.size() > retention.maxEntries()) {
+            index.remove(history.removeFirst());
+        }
+        Instant cutoff = Instant.now().minus(retention.maxAge());
+        long bytes = segments.stream().mapToLong(s -> s.bytes).sum();
+        while (segments.size() > 1) {
+            Segment oldest = segments.peekFirst();
+            boolean unused = history.isEmpty() || history.getFirst().segment() != oldest;
+            if (!unused && bytes <= retention.maxBytes() && !oldest.isOlderThan(cutoff)) {
+                break;
+            }
+            segments.removeFirst();
+            deleteSegment(oldest);
+            bytes -= oldest.bytes;
+            while (!history.isEmpty() && history.getFirst().segment() == oldest) {
+                index.remove(history.removeFirst());
+            }
+        }
+    }
+
+    private Entry findEntry(String timestamp) {
+        for (Iterator<Entry> it = history.descendingIterator(); it.hasNext();) {
+            Entry entry = it.next();
+            if (entry.value.timestamp().equals(timestamp)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void addEntry(Entry entry) {
+        history.add(entry);
+        index.put(entry, SearchIndex.fieldsOf(entry.value().request()));
+    }
+
+    private boolean removeEntries(Predicate<Entry> filter) {
+        boolean removed = false;
+        for (Iterator<Entry> it = history.iterator(); it.hasNext();) {
+            Entry entry = it.next();
+            if (filter.test(entry)) {
+                it.remove();
+                index.remove(entry);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    private void deleteSegment(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.path);
+            Files.deleteIfExists(segment.bodies);
+        } catch (IOException e) {
+            throw new RepositoryException("Error deleting history segment " + segment.path, e);
+        }
+    }
+
+    private void closeActive() {
+        close(active);
+        close(activeBodies);
+        active = null;
+        activeBodies = null;
+    }
+
+    private static void close(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final Path bodies;
+        private final long sequence;
+        private long bytes;
+
+        private Segment(Path directory, long sequence) {
+            String name = String.format("%020d", sequence);
+            this.path = directory.resolve(name + SEGMENT_SUFFIX);
+            this.bodies = directory.resolve(name + BODY_SUFFIX);
+            this.sequence = sequence;
+        }
+
+        private boolean isOlderThan(Instant cutoff) {
+            try {
+                return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * An entry held in memory. Compared by identity, so it can key the search
+     * index without hashing the request, and updated in place when its
+     * response is recorded.
+     */
+    private static final class Entry {
+        private RequestHistory value;
+        private final Segment segment;
+
+        private Entry(RequestHistory value, Segment segment) {
+            this.value = value;
+            this.segment = segment;
+        }
+
+        private RequestHistory value() {
+            return value;
+        }
+
+        private Segment segment() {
+            return segment;
+        }
+    }
+
+    /**
+     * Limits on how much history is kept.
+     *
+     * @param maxEntries the number of entries to keep
+     * @param maxAge     how long a segment is kept after its last write
+     * @param maxBytes   the total size of all segments and their body files
+     */
+    public record Retention(int maxEntries, Duration maxAge, long maxBytes) {
+
+        public static final Retention DEFAULT = new Retention(10_000, Duration.ofDays(30), 256L * 1024 * 1024);
+
+        public Retention {
+            if (maxEntries < 1 || maxBytes < SEGMENT_BYTES || maxAge == null || maxAge.isNegative()) {
+                throw new IllegalArgumentException("Invalid history retention");
+            }
+        }
     }
 }
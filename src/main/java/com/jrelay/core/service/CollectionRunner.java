@@ -0,0 +1,196 @@
+package com.jrelay.core.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import com.jrelay.core.builder.VariableResolver;
+import com.jrelay.core.models.Collection;
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.models.response.Response;
+
+/**
+ * Sends every request of a {@link Collection} and summarizes the outcome.
+ * <p>
+ * Requests run on a dedicated executor, at most {@link Options#concurrency()}
+ * at a time: a fixed pool of platform threads, or one virtual thread per
+ * request gated by a semaphore. Each worker waits on
+ * {@link HttpClientService#sendAsync}, so with {@link HttpClientServiceImpl}
+ * the actual I/O still goes through the shared OkHttp dispatcher and its
+ * per-host limit, while {@link VirtualThreadHttpClientService} leaves the
+ * semaphore as the only bound.
+ * <p>
+ * A runner executes a single run; create a new one for every run.
+ */
+public final class CollectionRunner {
+
+    private final HttpClientService service;
+    private final Options options;
+    private final List<CompletableFuture<Result>> tasks = new ArrayList<>();
+    private List<Request> requests = List.of();
+    private ExecutorService executor;
+    private volatile boolean cancelled;
+
+    public CollectionRunner(HttpClientService service, Options options) {
+        this.service = service;
+        this.options = options;
+    }
+
+    /**
+     * Starts sending the requests of {@code collection}.
+     *
+     * @param collection the collection to run
+     * @param variables  environment variables substituted into each request, may
+     *                   be empty
+     * @param onResult   called from a worker thread as each request finishes
+     * @return a future completed with the summary once every request finished
+     *         and was passed to {@code onResult}
+     */
+    public synchronized CompletableFuture<Summary> start(
+            Collection collection,
+            Map<String, String> variables,
+            Consumer<Result> onResult) {
+        if (executor != null) {
+            throw new IllegalStateException("Runner already started");
+        }
+        requests = collection.getRequests() != null ? List.copyOf(collection.getRequests()) : List.of();
+        executor = options.virtualThreads()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(options.concurrency());
+        Semaphore permits = new Semaphore(options.concurrency());
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> callbacks = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            final int index = i;
+            final Request request = requests.get(i);
+            CompletableFuture<Result> task = CompletableFuture.supplyAsync(
+                    () -> execute(index, request, variables, permits), executor);
+            callbacks.add(task.thenAccept(onResult));
+            tasks.add(task);
+        }
+        executor.shutdown();
+
+        // Waiting on the callbacks rather than the tasks guarantees every result
+        // was delivered before the summary is.
+        return CompletableFuture.allOf(callbacks.toArray(CompletableFuture[]::new))
+                .thenApply(v -> new Summary(
+                        tasks.stream().map(CompletableFuture::join).toList(),
+                        (System.nanoTime() - start) / 1_000_000.0));
+    }
+
+    /**
+     * Stops the run. Requests in flight are aborted and requests not yet sent
+     * are reported as cancelled.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).complete(Result.failed(i, requests.get(i), "Canceled"));
+        }
+    }
+
+    private Result execute(int index, Request request, Map<String, String> variables, Semaphore permits) {
+        if (cancelled) {
+            return Result.failed(index, request, "Canceled");
+        }
+        Request resolved = VariableResolver.resolve(request, variables);
+
+        CompletableFuture<Response> pending = null;
+        try {
+            permits.acquire();
+            try {
+                long start = System.nanoTime();
+                pending = service.sendAsync(resolved);
+                Response response = pending.get();
+                double latency = response.timings() != null
+                        ? response.timings().total()
+                        : (System.nanoTime() - start) / 1_000_000.0;
+                if (response.hasError()) {
+                    return new Result(index, request, 0, latency, 0, response.errorMessage());
+                }
+                long size = response.body() != null ? response.body().length() : 0;
+                return new Result(index, request, response.status(), latency, size, null);
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException | CancellationException e) {
+            if (pending != null) {
+                pending.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            return Result.failed(index, request, "Canceled");
+        } catch (ExecutionException e) {
+            return Result.failed(index, request, e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * How a collection is run.
+     *
+     * @param concurrency    the number of requests in flight at once; {@code 1}
+     *                       runs them sequentially
+     * @param virtualThreads whether each request runs on its own virtual thread
+     */
+    public record Options(int concurrency, boolean virtualThreads) {
+
+        public static final Options SEQUENTIAL = new Options(1, false);
+
+        public Options {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency must be at least 1");
+            }
+        }
+    }
+
+    /**
+     * Outcome of one request of the run.
+     *
+     * @param index   the position of the request in the collection
+     * @param request the request as stored in the collection
+     * @param status  the HTTP status, or {@code 0} if no response was received
+     * @param latency the total time of the call in milliseconds
+     * @param size    the response body size in bytes
+     * @param error   the error message, or {@code null} on success
+     */
+    public record Result(int index, Request request, int status, double latency, long size, String error) {
+
+        static Result failed(int index, Request request, String error) {
+            return new Result(index, request, 0, 0, 0, error);
+        }
+
+        public boolean isSuccess() {
+            return error == null && status > 0 && status < 400;
+        }
+    }
+
+    /**
+     * Results of a whole run, in collection order.
+     *
+     * @param results the result of each request
+     * @param elapsed the wall-clock duration of the run in milliseconds
+     */
+    public record Summary(List<Result> results, double elapsed) {
+
+        public long failed() {
+            return results.stream().filter(r -> !r.isSuccess()).count();
+        }
+
+        /**
+         * @return completed requests per second over the whole run
+         */
+        public double throughput() {
+            return elapsed > 0 ? results.size() * 1000.0 / elapsed : 0;
+        }
+    }
+}
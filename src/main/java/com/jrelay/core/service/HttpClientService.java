@@ -2,9 +2,25 @@ package com.jrelay.core.service;
 
 import java.util.concurrent.CompletableFuture;
 
+import com.jrelay.core.builder.ResponseParser.ProgressListener;
 import com.jrelay.core.models.request.Request;
 import com.jrelay.core.models.response.Response;
 
 public interface HttpClientService {
-    CompletableFuture<Response> sendAsync(Request request);
+    default CompletableFuture<Response> sendAsync(Request request) {
+        return sendAsync(request, ProgressListener.NONE);
+    }
+
+    /**
+     * Sends {@code request} without blocking the caller.
+     * <p>
+     * Cancelling the returned future aborts the underlying call, including a
+     * body that is still being downloaded.
+     *
+     * @param request  the request to send
+     * @param listener receives download progress of the response body
+     * @return a future completed with the response, or with an error
+     *         {@link Response} if the request could not be sent
+     */
+    CompletableFuture<Response> sendAsync(Request request, ProgressListener listener);
 }
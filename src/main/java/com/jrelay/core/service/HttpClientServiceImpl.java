@@ -2,10 +2,13 @@ package com.jrelay.core.service;
 
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import com.jrelay.core.builder.HttpClient;
+import com.jrelay.core.builder.PhaseTimer;
 import com.jrelay.core.builder.RequestBuilder;
 import com.jrelay.core.builder.ResponseParser;
+import com.jrelay.core.builder.ResponseParser.ProgressListener;
 import com.jrelay.core.builder.RequestBuilder.RequestBuildResult;
 import com.jrelay.core.models.request.Request;
 import com.jrelay.core.models.response.Response;
@@ -17,11 +20,24 @@ import org.jetbrains.annotations.NotNull;
 
 public final class HttpClientServiceImpl implements HttpClientService {
 
+    private final Supplier<OkHttpClient> clientSupplier;
+
     public HttpClientServiceImpl() {
+        this(HttpClient::getInstance);
+    }
+
+    /**
+     * Creates a service that sends requests with the client returned by
+     * {@code clientSupplier}, looked up for every call.
+     *
+     * @param clientSupplier provides the client to use
+     */
+    public HttpClientServiceImpl(Supplier<OkHttpClient> clientSupplier) {
+        this.clientSupplier = clientSupplier;
     }
 
     @Override
-    public CompletableFuture<Response> sendAsync(Request request) {
+    public CompletableFuture<Response> sendAsync(Request request, ProgressListener listener) {
         CompletableFuture<Response> future = new CompletableFuture<>();
 
         RequestBuildResult buildResult = RequestBuilder.build(request);
@@ -31,12 +47,18 @@ public final class HttpClientServiceImpl implements HttpClientService {
             return future;
         }
 
-        OkHttpClient baseClient = HttpClient.getInstance();
-        OkHttpClient clientToUse = baseClient;
+        OkHttpClient clientToUse = HttpClient.forVersion(clientSupplier.get(), request.getHttpVersion());
 
         long start = System.nanoTime();
 
-        clientToUse.newCall(buildResult.request()).enqueue(new Callback() {
+        Call call = clientToUse.newCall(new PhaseTimer().attachTo(buildResult.request()));
+        future.whenComplete((response, ex) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        call.enqueue(new Callback() {
 
             @Override
             public void onFailure(@NotNull Call call, @NotNull IOException e) {
@@ -48,7 +70,7 @@ public final class HttpClientServiceImpl implements HttpClientService {
                 try {
                     long duration = (System.nanoTime() - start) / 1_000_000;
 
-                    Response parsedResponse = ResponseParser.parse(response, duration);
+                    Response parsedResponse = ResponseParser.parse(response, duration, listener);
 
                     future.complete(parsedResponse);
 
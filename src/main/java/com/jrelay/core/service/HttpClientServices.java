@@ -0,0 +1,58 @@
+package com.jrelay.core.service;
+
+import java.util.function.Supplier;
+
+import com.jrelay.core.builder.HttpClient;
+import com.jrelay.core.models.Preference.ExecutionMode;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Creates the {@link HttpClientService} used by the application and holds the
+ * {@link ExecutionMode} it runs calls in.
+ * <p>
+ * Services returned by {@link #create()} read the mode on every send, so
+ * switching it with {@link #setMode(ExecutionMode)} takes effect for open tabs
+ * without recreating them: {@link ExecutionMode#DISPATCHER} sends through
+ * {@link HttpClientServiceImpl}, {@link ExecutionMode#VIRTUAL_THREADS} through
+ * {@link VirtualThreadHttpClientService}.
+ */
+public final class HttpClientServices {
+
+    private static volatile ExecutionMode mode = ExecutionMode.DISPATCHER;
+
+    private HttpClientServices() {
+    }
+
+    public static ExecutionMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the mode used by subsequent sends.
+     *
+     * @param newMode the new mode; {@code null} restores the default
+     */
+    public static void setMode(ExecutionMode newMode) {
+        mode = newMode != null ? newMode : ExecutionMode.DISPATCHER;
+    }
+
+    /**
+     * @return a service that sends with the shared {@link HttpClient}
+     */
+    public static HttpClientService create() {
+        return create(HttpClient::getInstance);
+    }
+
+    /**
+     * @param clientSupplier provides the client to use, looked up for every call
+     * @return a service that sends in the current mode
+     */
+    public static HttpClientService create(Supplier<OkHttpClient> clientSupplier) {
+        HttpClientService dispatcher = new HttpClientServiceImpl(clientSupplier);
+        HttpClientService virtual = new VirtualThreadHttpClientService(clientSupplier);
+        return (request, listener) -> mode == ExecutionMode.VIRTUAL_THREADS
+                ? virtual.sendAsync(request, listener)
+                : dispatcher.sendAsync(request, listener);
+    }
+}
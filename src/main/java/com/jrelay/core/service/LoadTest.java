@@ -0,0 +1,188 @@
+package com.jrelay.core.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.jrelay.core.builder.HttpClient;
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.models.response.Response;
+import com.jrelay.core.utils.LatencyHistogram;
+
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+/**
+ * Fires one request repeatedly and keeps live latency and error statistics.
+ * <p>
+ * Calls are issued from a single driver thread that keeps at most
+ * {@link Config#concurrency()} of them in flight and, when a rate is set,
+ * spaces them evenly. They go through a client derived from the shared
+ * {@link HttpClient}, so connections are reused from the shared pool, but with
+ * its own dispatcher sized to the test, so the interactive per-host limit does
+ * not cap the concurrency. In {@link HttpClientServices virtual thread mode}
+ * calls skip the dispatcher and each one waits on its own virtual thread.
+ * {@link #snapshot()} can be called at any time while the test runs.
+ */
+public final class LoadTest {
+
+    private final Request request;
+    private final Config config;
+    private final HttpClientService service;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final CompletableFuture<Snapshot> done = new CompletableFuture<>();
+    private volatile boolean stopped;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    public LoadTest(Request request, Config config) {
+        this.request = request;
+        this.config = config;
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.concurrency());
+        dispatcher.setMaxRequestsPerHost(config.concurrency());
+        OkHttpClient client = HttpClient.forVersion(
+                HttpClient.getInstance().newBuilder().dispatcher(dispatcher).build(), request.getHttpVersion());
+        this.service = HttpClientServices.create(() -> client);
+    }
+
+    /**
+     * Starts the test on a background thread.
+     *
+     * @return a future completed with the final statistics
+     */
+    public CompletableFuture<Snapshot> start() {
+        startNanos = System.nanoTime();
+        Thread.ofVirtual().name("load-test").start(this::drive);
+        return done;
+    }
+
+    /**
+     * Stops issuing new calls; calls in flight are allowed to finish.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    private void drive() {
+        Semaphore inFlight = new Semaphore(config.concurrency());
+        long deadline = config.duration() != null ? startNanos + config.duration().toNanos() : Long.MAX_VALUE;
+        long interval = config.rate() > 0 ? TimeUnit.SECONDS.toNanos(1) / config.rate() : 0;
+        long next = startNanos;
+
+        try {
+            while (!stopped && System.nanoTime() < deadline
+                    && (config.iterations() <= 0 || sent.get() < config.iterations())) {
+                if (interval > 0) {
+                    long wait = next - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    next += interval;
+                }
+                if (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+                sent.incrementAndGet();
+                long callStart = System.nanoTime();
+                service.sendAsync(request).whenComplete((response, ex) -> {
+                    record(response, ex, callStart);
+                    inFlight.release();
+                });
+            }
+            inFlight.acquire(config.concurrency());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        endNanos = System.nanoTime();
+        done.complete(snapshot());
+    }
+
+    private void record(Response response, Throwable ex, long callStart) {
+        histogram.record((System.nanoTime() - callStart) / 1_000);
+        if (ex != null || response.hasError() || response.status() >= 400) {
+            errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the statistics collected so far.
+     *
+     * @return a consistent-enough view for live display
+     */
+    public Snapshot snapshot() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        double elapsed = (end - startNanos) / 1e9;
+        long completed = histogram.count();
+        return new Snapshot(
+                sent.get(),
+                completed,
+                errors.get(),
+                histogram.percentile(50) / 1000.0,
+                histogram.percentile(90) / 1000.0,
+                histogram.percentile(99) / 1000.0,
+                histogram.max() / 1000.0,
+                elapsed > 0 ? completed / elapsed : 0,
+                elapsed,
+                endNanos != 0);
+    }
+
+    /**
+     * Load test parameters.
+     *
+     * @param iterations  the number of calls to send, or {@code 0} to run for
+     *                    {@code duration}
+     * @param duration    how long to run, or {@code null} to stop after
+     *                    {@code iterations}
+     * @param concurrency the maximum number of calls in flight
+     * @param rate        the target calls per second, or {@code 0} for as fast
+     *                    as the concurrency allows
+     */
+    public record Config(int iterations, Duration duration, int concurrency, int rate) {
+
+        public Config {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency must be at least 1");
+            }
+            if (iterations <= 0 && duration == null) {
+                throw new IllegalArgumentException("Either iterations or a duration is required");
+            }
+        }
+    }
+
+    /**
+     * Statistics of a running or finished test. Latencies are in milliseconds.
+     *
+     * @param sent       calls issued
+     * @param completed  calls that finished, successfully or not
+     * @param errors     calls that failed or returned a 4xx/5xx status
+     * @param p50        median latency
+     * @param p90        90th percentile latency
+     * @param p99        99th percentile latency
+     * @param max        maximum latency
+     * @param throughput completed calls per second
+     * @param elapsed    seconds since the test started
+     * @param finished   whether the test has ended
+     */
+    public record Snapshot(
+            long sent,
+            long completed,
+            long errors,
+            double p50,
+            double p90,
+            double p99,
+            double max,
+            double throughput,
+            double elapsed,
+            boolean finished) {
+
+        public double errorRate() {
+            return completed > 0 ? errors * 100.0 / completed : 0;
+        }
+    }
+}
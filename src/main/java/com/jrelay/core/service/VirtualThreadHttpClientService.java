@@ -0,0 +1,122 @@
+package com.jrelay.core.service;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import com.jrelay.core.builder.HttpClient;
+import com.jrelay.core.builder.PhaseTimer;
+import com.jrelay.core.builder.RequestBuilder;
+import com.jrelay.core.builder.RequestBuilder.RequestBuildResult;
+import com.jrelay.core.builder.ResponseParser;
+import com.jrelay.core.builder.ResponseParser.ProgressListener;
+import com.jrelay.core.models.request.HttpVersion;
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.models.response.Response;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+
+/**
+ * {@link HttpClientService} that runs every call on its own virtual thread.
+ * <p>
+ * Each send builds the request, executes it with the blocking
+ * {@link Call#execute()} and parses the body on a new virtual thread, so
+ * thousands of calls can wait on the network at once without sizing a thread
+ * pool. Calls bypass the dispatcher's {@code maxRequests} and
+ * {@code maxRequestsPerHost} limits; callers that need a bound, such as the
+ * collection runner and load tests, apply their own. Connections still come
+ * from the pool of the supplied client.
+ * <p>
+ * OkHttp 4 waits for HTTP/2 frames with {@code Object.wait()} inside
+ * {@code synchronized} blocks, which pins a virtual thread to its carrier on
+ * JDK 21. Calls that may use HTTP/2, that is HTTPS calls negotiated through
+ * ALPN and h2c calls, therefore hold one of {@link #HTTP2_PERMITS} permits
+ * from the start of the call until the body is read. The permits number one
+ * less than the scheduler's carrier threads, so other virtual threads keep
+ * running while HTTP/2 calls wait. Further HTTP/2 calls queue for a permit.
+ * HTTP/1.1 calls block in socket reads, which unmount the virtual thread, and
+ * are not bounded.
+ */
+public final class VirtualThreadHttpClientService implements HttpClientService {
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("http-", 0).factory());
+    private static final Semaphore HTTP2_PERMITS = new Semaphore(Math.max(1, Integer.getInteger(
+            "jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors()) - 1));
+
+    private final Supplier<OkHttpClient> clientSupplier;
+
+    public VirtualThreadHttpClientService() {
+        this(HttpClient::getInstance);
+    }
+
+    /**
+     * Creates a service that sends requests with the client returned by
+     * {@code clientSupplier}, looked up for every call.
+     *
+     * @param clientSupplier provides the client to use
+     */
+    public VirtualThreadHttpClientService(Supplier<OkHttpClient> clientSupplier) {
+        this.clientSupplier = clientSupplier;
+    }
+
+    @Override
+    public CompletableFuture<Response> sendAsync(Request request, ProgressListener listener) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        EXECUTOR.execute(() -> send(request, listener, future));
+        return future;
+    }
+
+    private void send(Request request, ProgressListener listener, CompletableFuture<Response> future) {
+        if (future.isDone()) {
+            return;
+        }
+        RequestBuildResult buildResult = RequestBuilder.build(request);
+        if (!buildResult.isSuccess()) {
+            future.complete(new Response("Error: " + buildResult.errorMessage()));
+            return;
+        }
+
+        boolean http2 = request.getHttpVersion() == HttpVersion.H2_PRIOR_KNOWLEDGE
+                || request.getHttpVersion() == HttpVersion.AUTO && buildResult.request().isHttps();
+        if (http2) {
+            HTTP2_PERMITS.acquireUninterruptibly();
+        }
+        try {
+            execute(request, buildResult, listener, future);
+        } finally {
+            if (http2) {
+                HTTP2_PERMITS.release();
+            }
+        }
+    }
+
+    private void execute(Request request, RequestBuildResult buildResult, ProgressListener listener,
+            CompletableFuture<Response> future) {
+        if (future.isDone()) {
+            return;
+        }
+        long start = System.nanoTime();
+        OkHttpClient client = HttpClient.forVersion(clientSupplier.get(), request.getHttpVersion());
+        Call call = client.newCall(new PhaseTimer().attachTo(buildResult.request()));
+        future.whenComplete((response, ex) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        try (okhttp3.Response response = call.execute()) {
+            long duration = (System.nanoTime() - start) / 1_000_000;
+            future.complete(ResponseParser.parse(response, duration, listener));
+        } catch (IOException e) {
+            future.complete(new Response("Connection error: " + e.getMessage()));
+        } catch (Exception e) {
+            e.printStackTrace();
+            future.complete(new Response("Response parsing error: " + e.getMessage()));
+        }
+    }
+}
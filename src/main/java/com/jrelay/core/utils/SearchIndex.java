@@ -0,0 +1,149 @@
+package com.jrelay.core.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.jrelay.core.models.request.HttpHeader;
+import com.jrelay.core.models.request.Request;
+
+/**
+ * In-memory inverted index from words to the keys of the documents containing
+ * them.
+ * <p>
+ * Text is split into lowercase runs of letters and digits, cut to
+ * {@value #MAX_TERM_LENGTH} characters. Queries are split the same way, so a
+ * query word longer than that still matches the truncated term. A query
+ * matches the documents that contain, for every word of the query, some word
+ * starting with it, so results narrow as the user types. Terms are kept in a sorted map, which
+ * turns each query word into a range lookup instead of a scan over documents.
+ * Documents are added, replaced and removed one at a time, so the index can be
+ * kept up to date on every mutation.
+ *
+ * @param <K> the document key; must have stable {@code equals} and
+ *            {@code hashCode}
+ */
+public final class SearchIndex<K> {
+
+    private static final int MAX_TERM_LENGTH = 64;
+
+    private final NavigableMap<String, Set<K>> postings = new TreeMap<>();
+    private final Map<K, Set<String>> terms = new HashMap<>();
+
+    /**
+     * Indexes {@code texts} under {@code key}, replacing what was indexed for it
+     * before.
+     *
+     * @param key   the document key
+     * @param texts the document fields; {@code null} values are ignored
+     */
+    public synchronized void put(K key, String... texts) {
+        remove(key);
+        Set<String> words = new HashSet<>();
+        for (String text : texts) {
+            words.addAll(tokenize(text));
+        }
+        for (String word : words) {
+            postings.computeIfAbsent(word, w -> new HashSet<>()).add(key);
+        }
+        terms.put(key, words);
+    }
+
+    public synchronized void remove(K key) {
+        Set<String> words = terms.remove(key);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Set<K> keys = postings.get(word);
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        terms.clear();
+    }
+
+    /**
+     * Returns the keys of the documents matching every word of {@code query} as
+     * a prefix.
+     *
+     * @param query the text typed by the user
+     * @return the matching keys, empty when the query has no words
+     */
+    public synchronized Set<K> search(String query) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<K> result = null;
+        for (String word : words) {
+            Set<K> matches = new HashSet<>();
+            for (Set<K> keys : postings.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                matches.addAll(keys);
+            }
+            if (result == null) {
+                result = matches;
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the searchable fields of a request: its name, URL, headers and
+     * body.
+     *
+     * @param request the request to index
+     * @return the field values, possibly containing {@code null}
+     */
+    public static String[] fieldsOf(Request request) {
+        List<String> fields = new ArrayList<>();
+        fields.add(request.getName());
+        fields.add(request.getUrl());
+        if (request.getHeaders() != null) {
+            for (HttpHeader header : request.getHeaders()) {
+                fields.add(header.key());
+                fields.add(header.value());
+            }
+        }
+        if (request.getBody() != null) {
+            fields.add(request.getBody().content());
+        }
+        return fields.toArray(String[]::new);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                int end = Math.min(i, start + MAX_TERM_LENGTH);
+                words.add(text.substring(start, end).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
@@ -8,7 +8,6 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.commons.text.StringEscapeUtils;
-import org.apache.commons.text.StringSubstitutor;
 
 public final class StringUtils {
 
@@ -16,8 +15,7 @@ public final class StringUtils {
     }
 
     public static String replaceVariables(String input, Map<String, String> replacements) {
-        StringSubstitutor substitutor = new StringSubstitutor(replacements, "{{", "}}");
-        return substitutor.replace(input);
+        return input == null ? null : Template.of(input).render(replacements);
     }
 
     public static String insertVariable(String text, int caretPos, String variable) {
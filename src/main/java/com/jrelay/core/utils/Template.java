@@ -0,0 +1,114 @@
+package com.jrelay.core.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A string with {@code {{name}}} placeholders, parsed once into literal and
+ * variable parts.
+ * <p>
+ * Rendering walks the parts instead of searching the text again, and text
+ * without placeholders is returned as is. Templates for texts of up to
+ * {@value #MAX_CACHED_LENGTH} characters are cached, so the URL, header and
+ * parameter values of a request are only parsed again when they change, while
+ * the cache never holds more than {@value #CACHE_SIZE} short strings. Longer
+ * texts such as bodies are compiled on every call. Placeholders without a value are left in place.
+ */
+public final class Template {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final int CACHE_SIZE = 512;
+    private static final int MAX_CACHED_LENGTH = 1024;
+
+    private static final Map<String, Template> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private final String source;
+    private final String[] literals;
+    private final String[] names;
+
+    private Template(String source, String[] literals, String[] names) {
+        this.source = source;
+        this.literals = literals;
+        this.names = names;
+    }
+
+    /**
+     * Returns the compiled form of {@code source}, from the cache when possible.
+     *
+     * @param source the text to compile
+     * @return the template
+     */
+    public static Template of(String source) {
+        if (source.length() > MAX_CACHED_LENGTH) {
+            return compile(source);
+        }
+        Template template = CACHE.get(source);
+        if (template == null) {
+            template = compile(source);
+            CACHE.put(source, template);
+        }
+        return template;
+    }
+
+    /**
+     * Parses {@code source} without consulting the cache.
+     *
+     * @param source the text to compile
+     * @return the template
+     */
+    public static Template compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int from = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, from)) != -1) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close == -1) {
+                break;
+            }
+            literals.add(source.substring(from, open));
+            names.add(source.substring(open + OPEN.length(), close));
+            from = close + CLOSE.length();
+        }
+        literals.add(source.substring(from));
+        return new Template(source, literals.toArray(String[]::new), names.toArray(String[]::new));
+    }
+
+    public boolean hasVariables() {
+        return names.length > 0;
+    }
+
+    /**
+     * Replaces the placeholders with the values in {@code variables}.
+     *
+     * @param variables the variable values, typically an immutable environment
+     *                  snapshot
+     * @return the rendered text
+     */
+    public String render(Map<String, String> variables) {
+        if (names.length == 0) {
+            return source;
+        }
+        StringBuilder out = new StringBuilder(source.length() + 16 * names.length);
+        for (int i = 0; i < names.length; i++) {
+            out.append(literals[i]);
+            String value = variables.get(names[i]);
+            if (value != null) {
+                out.append(value);
+            } else {
+                out.append(OPEN).append(names[i]).append(CLOSE);
+            }
+        }
+        return out.append(literals[names.length]).toString();
+    }
+}
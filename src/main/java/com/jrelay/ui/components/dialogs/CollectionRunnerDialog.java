@@ -0,0 +1,214 @@
+package com.jrelay.ui.components.dialogs;
+
+import java.awt.Cursor;
+import java.awt.Frame;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.JTable;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
+import javax.swing.WindowConstants;
+import javax.swing.table.DefaultTableModel;
+
+import com.jrelay.core.builder.ResponseParser.Size;
+import com.jrelay.core.models.Collection;
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.service.CollectionRunner;
+import com.jrelay.core.service.CollectionRunner.Options;
+import com.jrelay.core.service.CollectionRunner.Result;
+import com.jrelay.core.service.CollectionRunner.Summary;
+import com.jrelay.core.service.HttpClientServices;
+import com.jrelay.core.service.VirtualThreadHttpClientService;
+import com.jrelay.core.utils.i18n.LangManager;
+import com.jrelay.ui.controllers.AppController;
+import com.jrelay.ui.shared.styles.Colors;
+import com.jrelay.ui.shared.styles.Style;
+import com.jrelay.ui.shared.utils.template.Struct;
+import com.jrelay.ui.workbech.WorkbenchHttp;
+
+import lombok.Getter;
+import net.miginfocom.swing.MigLayout;
+
+/**
+ * Dialog that runs every request of a collection and fills a summary table with
+ * the status, latency and size of each one as it completes.
+ */
+public class CollectionRunnerDialog extends JPanel implements Struct {
+
+    private static final int COLUMN_STATUS = 3;
+    private static final int COLUMN_LATENCY = 4;
+    private static final int COLUMN_SIZE = 5;
+
+    private final Collection collection;
+
+    private final JLabel titleLabel = new JLabel();
+    private final JLabel concurrencyLabel = new JLabel(LangManager.text("collectionRunner.concurrencyLabel.text"));
+    private final JSpinner concurrencySpinner = new JSpinner(new SpinnerNumberModel(1, 1, 256, 1));
+    private final JCheckBox virtualThreadsCheck = new JCheckBox(
+            LangManager.text("collectionRunner.virtualThreadsCheck.text"));
+    private final DefaultTableModel model = new DefaultTableModel(new String[] {
+            "#",
+            LangManager.text("collectionRunner.table.method.text"),
+            LangManager.text("collectionRunner.table.request.text"),
+            LangManager.text("collectionRunner.table.status.text"),
+            LangManager.text("collectionRunner.table.latency.text"),
+            LangManager.text("collectionRunner.table.size.text") }, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    };
+    private final JTable table = new JTable(model);
+    private final JLabel summaryLabel = new JLabel(" ");
+    private JPanel containerButtons;
+    @Getter
+    private final JButton runButton = new JButton(LangManager.text("collectionRunner.runButton.text"));
+    @Getter
+    private final JButton closeButton = new JButton(LangManager.text("collectionRunner.closeButton.text"));
+
+    private CollectionRunner runner;
+
+    private CollectionRunnerDialog(Collection collection) {
+        this.collection = collection;
+        this.build();
+    }
+
+    @Override
+    public void initComponents() {
+        containerButtons = new JPanel(new MigLayout("insets 0, gap 10", "[][]push"));
+    }
+
+    @Override
+    public void configureStyle() {
+        Style.setLayout(this, new MigLayout("wrap 1, insets 20", "[grow, fill]"));
+        Style.setFontSize(titleLabel, 18f);
+        Style.setLabelText(titleLabel,
+                String.format(LangManager.text("collectionRunner.titleLabel.text"), collection.getName()));
+        Style.setFontSize(concurrencyLabel, 13f);
+        Style.setFontSize(summaryLabel, 13f);
+        Style.setBackgroundColor(closeButton, Colors.SECONDARY_COLOR);
+        Style.setCursor(runButton, Cursor.HAND_CURSOR);
+        Style.setCursor(closeButton, Cursor.HAND_CURSOR);
+        Style.setUndecoratedButton(closeButton);
+
+        table.setFillsViewportHeight(true);
+        table.getColumnModel().getColumn(0).setMaxWidth(40);
+        table.getColumnModel().getColumn(1).setMaxWidth(70);
+        table.getColumnModel().getColumn(COLUMN_STATUS).setMaxWidth(220);
+    }
+
+    @Override
+    public void attachLogic() {
+        runButton.addActionListener(e -> {
+            if (runner != null) {
+                runner.cancel();
+            } else {
+                startRun();
+            }
+        });
+    }
+
+    @Override
+    public void compose() {
+        JPanel options = new JPanel(new MigLayout("insets 0, gap 10", "[][]20[]push"));
+        options.add(concurrencyLabel);
+        options.add(concurrencySpinner, "w 70!");
+        options.add(virtualThreadsCheck);
+
+        this.add(titleLabel, "gaptop 0, gapbottom 10, align left");
+        this.add(options, "gapbottom 10");
+        this.add(new JScrollPane(table), "h 320!, w 640!");
+        this.add(summaryLabel, "gaptop 5");
+        containerButtons.add(runButton, "h 35!");
+        containerButtons.add(closeButton, "h 35!");
+        this.add(containerButtons, "gaptop 10");
+    }
+
+    private void startRun() {
+        model.setRowCount(0);
+        List<Request> requests = collection.getRequests() != null ? collection.getRequests() : List.of();
+        for (int i = 0; i < requests.size(); i++) {
+            Request request = requests.get(i);
+            model.addRow(new Object[] { i + 1, request.getMethod(), request.getName(), "…", "", "" });
+        }
+
+        Map<String, String> variables = WorkbenchHttp.isEnvironmentSelected()
+                ? AppController.environmentController.findVariablesByEnvironment(WorkbenchHttp.getSelectedEnv())
+                : Map.of();
+        Options options = new Options((int) concurrencySpinner.getValue(), virtualThreadsCheck.isSelected());
+        AtomicInteger done = new AtomicInteger();
+        int total = requests.size();
+
+        runner = new CollectionRunner(options.virtualThreads()
+                ? new VirtualThreadHttpClientService()
+                : HttpClientServices.create(), options);
+        setRunning(true);
+        runner.start(collection, variables, result -> {
+            int completed = done.incrementAndGet();
+            SwingUtilities.invokeLater(() -> {
+                showResult(result);
+                Style.setLabelText(summaryLabel, completed + "/" + total);
+            });
+        }).thenAccept(summary -> SwingUtilities.invokeLater(() -> showSummary(summary)));
+    }
+
+    private void showResult(Result result) {
+        int row = result.index();
+        model.setValueAt(result.error() != null ? result.error() : result.status(), row, COLUMN_STATUS);
+        model.setValueAt(result.latency() > 0 ? String.format("%.1f", result.latency()) : "", row, COLUMN_LATENCY);
+        model.setValueAt(result.error() == null ? Size.format(result.size()) : "", row, COLUMN_SIZE);
+    }
+
+    private void showSummary(Summary summary) {
+        runner = null;
+        setRunning(false);
+        Style.setLabelText(summaryLabel, String.format(LangManager.text("collectionRunner.summaryLabel.text"),
+                summary.results().size() - summary.failed(),
+                summary.results().size(),
+                summary.failed(),
+                summary.elapsed(),
+                summary.throughput()));
+    }
+
+    private void setRunning(boolean running) {
+        Style.setButtonText(runButton, LangManager.text(running
+                ? "collectionRunner.stopButton.text"
+                : "collectionRunner.runButton.text"));
+        concurrencySpinner.setEnabled(!running);
+        virtualThreadsCheck.setEnabled(!running);
+        closeButton.setEnabled(!running);
+    }
+
+    public static void showDialog(String idCollection) {
+        Collection collection = AppController.collectionController.findCollectionById(idCollection);
+        if (collection == null) {
+            return;
+        }
+
+        CollectionRunnerDialog runnerDialog = new CollectionRunnerDialog(collection);
+
+        JDialog dialog = new JDialog((Frame) null, true);
+        dialog.setUndecorated(true);
+        dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        dialog.getContentPane().add(runnerDialog);
+        dialog.pack();
+        dialog.setLocationRelativeTo(null);
+
+        runnerDialog.getCloseButton().addActionListener(e -> {
+            dialog.dispose();
+            AppController.hideGlassPane();
+        });
+
+        AppController.showGlassPane();
+        dialog.setVisible(true);
+    }
+}
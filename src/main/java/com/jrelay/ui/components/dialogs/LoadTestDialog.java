@@ -0,0 +1,216 @@
+package com.jrelay.ui.components.dialogs;
+
+import java.awt.Cursor;
+import java.awt.Frame;
+import java.time.Duration;
+
+import javax.swing.ButtonGroup;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JRadioButton;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.WindowConstants;
+
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.service.LoadTest;
+import com.jrelay.core.service.LoadTest.Config;
+import com.jrelay.core.service.LoadTest.Snapshot;
+import com.jrelay.core.utils.i18n.LangManager;
+import com.jrelay.ui.controllers.AppController;
+import com.jrelay.ui.shared.styles.Colors;
+import com.jrelay.ui.shared.styles.Style;
+import com.jrelay.ui.shared.utils.template.Struct;
+
+import lombok.Getter;
+import net.miginfocom.swing.MigLayout;
+
+/**
+ * Dialog that fires a single request repeatedly and shows live latency
+ * percentiles, error rate and throughput while the test runs.
+ */
+public class LoadTestDialog extends JPanel implements Struct {
+
+    private static final int REFRESH_MILLIS = 250;
+
+    private final Request request;
+
+    private final JLabel titleLabel = new JLabel(LangManager.text("loadTest.titleLabel.text"));
+    private final JLabel requestLabel = new JLabel();
+    private final JRadioButton requestsRadio = new JRadioButton(LangManager.text("loadTest.requestsRadio.text"), true);
+    private final JRadioButton durationRadio = new JRadioButton(LangManager.text("loadTest.durationRadio.text"));
+    private final JSpinner requestsSpinner = new JSpinner(new SpinnerNumberModel(100, 1, 1_000_000, 10));
+    private final JSpinner durationSpinner = new JSpinner(new SpinnerNumberModel(30, 1, 3600, 5));
+    private final JLabel concurrencyLabel = new JLabel(LangManager.text("loadTest.concurrencyLabel.text"));
+    private final JSpinner concurrencySpinner = new JSpinner(new SpinnerNumberModel(10, 1, 512, 1));
+    private final JLabel rateLabel = new JLabel(LangManager.text("loadTest.rpsLabel.text"));
+    private final JSpinner rateSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 100_000, 10));
+    private final JLabel completedValue = new JLabel("0");
+    private final JLabel errorsValue = new JLabel("0");
+    private final JLabel throughputValue = new JLabel("0");
+    private final JLabel p50Value = new JLabel("-");
+    private final JLabel p90Value = new JLabel("-");
+    private final JLabel p99Value = new JLabel("-");
+    private final JLabel maxValue = new JLabel("-");
+    private JPanel containerButtons;
+    @Getter
+    private final JButton startButton = new JButton(LangManager.text("loadTest.startButton.text"));
+    @Getter
+    private final JButton closeButton = new JButton(LangManager.text("loadTest.closeButton.text"));
+
+    private final Timer refresh = new Timer(REFRESH_MILLIS, e -> refreshStats());
+    private LoadTest loadTest;
+
+    private LoadTestDialog(Request request) {
+        this.request = request;
+        this.build();
+    }
+
+    @Override
+    public void initComponents() {
+        containerButtons = new JPanel(new MigLayout("insets 0, gap 10", "[][]push"));
+        ButtonGroup mode = new ButtonGroup();
+        mode.add(requestsRadio);
+        mode.add(durationRadio);
+    }
+
+    @Override
+    public void configureStyle() {
+        Style.setLayout(this, new MigLayout("wrap 1, insets 20", "[grow, fill]"));
+        Style.setFontSize(titleLabel, 18f);
+        Style.setLabelText(requestLabel, request.getMethod() + "  " + request.getUrl());
+        Style.setFontSize(requestLabel, 13f);
+        Style.setTextColor(requestLabel, Colors.ICON_COLOR);
+        Style.setBackgroundColor(closeButton, Colors.SECONDARY_COLOR);
+        Style.setCursor(startButton, Cursor.HAND_CURSOR);
+        Style.setCursor(closeButton, Cursor.HAND_CURSOR);
+        Style.setUndecoratedButton(closeButton);
+        durationSpinner.setEnabled(false);
+    }
+
+    @Override
+    public void attachLogic() {
+        requestsRadio.addActionListener(e -> updateMode());
+        durationRadio.addActionListener(e -> updateMode());
+        startButton.addActionListener(e -> {
+            if (loadTest != null) {
+                loadTest.stop();
+            } else {
+                startTest();
+            }
+        });
+    }
+
+    @Override
+    public void compose() {
+        JPanel options = new JPanel(new MigLayout("insets 0, gap 10, wrap 2", "[][grow]"));
+        options.add(requestsRadio);
+        options.add(requestsSpinner, "w 100!");
+        options.add(durationRadio);
+        options.add(durationSpinner, "w 100!");
+        options.add(concurrencyLabel);
+        options.add(concurrencySpinner, "w 100!");
+        options.add(rateLabel);
+        options.add(rateSpinner, "w 100!");
+
+        JPanel stats = new JPanel(new MigLayout("insets 0, gap 20 5, wrap 4", "[][grow][][grow]"));
+        stats.add(new JLabel(LangManager.text("loadTest.completedLabel.text")));
+        stats.add(completedValue);
+        stats.add(new JLabel("p50"));
+        stats.add(p50Value);
+        stats.add(new JLabel(LangManager.text("loadTest.errorsLabel.text")));
+        stats.add(errorsValue);
+        stats.add(new JLabel("p90"));
+        stats.add(p90Value);
+        stats.add(new JLabel(LangManager.text("loadTest.throughputLabel.text")));
+        stats.add(throughputValue);
+        stats.add(new JLabel("p99"));
+        stats.add(p99Value);
+        stats.add(new JLabel(), "span 2");
+        stats.add(new JLabel("max"));
+        stats.add(maxValue);
+
+        this.add(titleLabel, "gaptop 0, align left");
+        this.add(requestLabel, "gapbottom 10, w 460!");
+        this.add(options, "gapbottom 15");
+        this.add(stats, "gapbottom 5");
+        containerButtons.add(startButton, "h 35!");
+        containerButtons.add(closeButton, "h 35!");
+        this.add(containerButtons, "gaptop 10");
+    }
+
+    private void updateMode() {
+        requestsSpinner.setEnabled(requestsRadio.isSelected());
+        durationSpinner.setEnabled(durationRadio.isSelected());
+    }
+
+    private void startTest() {
+        Config config = requestsRadio.isSelected()
+                ? new Config((int) requestsSpinner.getValue(), null,
+                        (int) concurrencySpinner.getValue(), (int) rateSpinner.getValue())
+                : new Config(0, Duration.ofSeconds((int) durationSpinner.getValue()),
+                        (int) concurrencySpinner.getValue(), (int) rateSpinner.getValue());
+
+        loadTest = new LoadTest(request, config);
+        setRunning(true);
+        refresh.start();
+        loadTest.start().thenAccept(snapshot -> SwingUtilities.invokeLater(() -> {
+            refresh.stop();
+            showSnapshot(snapshot);
+            loadTest = null;
+            setRunning(false);
+        }));
+    }
+
+    private void refreshStats() {
+        if (loadTest != null) {
+            showSnapshot(loadTest.snapshot());
+        }
+    }
+
+    private void showSnapshot(Snapshot snapshot) {
+        Style.setLabelText(completedValue, String.format("%,d / %,d", snapshot.completed(), snapshot.sent()));
+        Style.setLabelText(errorsValue, String.format("%,d (%.1f%%)", snapshot.errors(), snapshot.errorRate()));
+        Style.setLabelText(throughputValue, String.format("%.1f req/s", snapshot.throughput()));
+        Style.setLabelText(p50Value, String.format("%.1f ms", snapshot.p50()));
+        Style.setLabelText(p90Value, String.format("%.1f ms", snapshot.p90()));
+        Style.setLabelText(p99Value, String.format("%.1f ms", snapshot.p99()));
+        Style.setLabelText(maxValue, String.format("%.1f ms", snapshot.max()));
+    }
+
+    private void setRunning(boolean running) {
+        Style.setButtonText(startButton, LangManager.text(running
+                ? "loadTest.stopButton.text"
+                : "loadTest.startButton.text"));
+        requestsRadio.setEnabled(!running);
+        durationRadio.setEnabled(!running);
+        requestsSpinner.setEnabled(!running && requestsRadio.isSelected());
+        durationSpinner.setEnabled(!running && durationRadio.isSelected());
+        concurrencySpinner.setEnabled(!running);
+        rateSpinner.setEnabled(!running);
+        closeButton.setEnabled(!running);
+    }
+
+    public static void showDialog(Request request) {
+        LoadTestDialog loadTestDialog = new LoadTestDialog(request);
+
+        JDialog dialog = new JDialog((Frame) null, true);
+        dialog.setUndecorated(true);
+        dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        dialog.getContentPane().add(loadTestDialog);
+        dialog.pack();
+        dialog.setLocationRelativeTo(null);
+
+        loadTestDialog.getCloseButton().addActionListener(e -> {
+            dialog.dispose();
+            AppController.hideGlassPane();
+        });
+
+        AppController.showGlassPane();
+        dialog.setVisible(true);
+    }
+}
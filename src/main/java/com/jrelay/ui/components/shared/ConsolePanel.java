@@ -1,15 +1,33 @@
 package com.jrelay.ui.components.shared;
 
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Cursor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
-import javax.swing.JSeparator;
+import javax.swing.JSplitPane;
 import javax.swing.JTextPane;
-import javax.swing.JToggleButton;
+import javax.swing.ListCellRenderer;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
 import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.SimpleAttributeSet;
@@ -18,8 +36,19 @@ import javax.swing.text.StyleContext;
 import javax.swing.text.StyledDocument;
 
 import com.formdev.flatlaf.extras.FlatSVGIcon;
+import com.jrelay.core.io.HarWriter;
+import com.jrelay.core.models.RequestHistory;
 import com.jrelay.core.models.request.Request;
 import com.jrelay.core.models.response.Response;
+import com.jrelay.core.models.response.ResponseBody;
+import com.jrelay.core.utils.i18n.LangManager;
+import com.jrelay.ui.components.dialogs.FileNativeDialog;
+import com.jrelay.ui.components.dialogs.FileNativeDialog.Mode;
+import com.jrelay.ui.components.dialogs.MessageDialog;
+import com.jrelay.ui.components.dialogs.MessageDialog.Type;
+import com.jrelay.ui.components.shared.models.ConsoleLog;
+import com.jrelay.ui.components.shared.models.ConsoleLog.Entry;
+import com.jrelay.ui.controllers.AppController;
 import com.jrelay.ui.shared.styles.Colors;
 import com.jrelay.ui.shared.styles.Style;
 import com.jrelay.ui.shared.utils.UiUtils;
@@ -28,19 +57,31 @@ import com.jrelay.ui.shared.utils.template.Struct;
 import lombok.Getter;
 import net.miginfocom.swing.MigLayout;
 
+/**
+ * Debug console listing every request sent and the response received for it.
+ * <p>
+ * Entries live in a bounded {@link ConsoleLog} shown through a {@link JList},
+ * so only the visible rows are painted and old entries are dropped once the
+ * log is full. Headers and bodies are rendered only for the selected entry, and
+ * bodies larger than {@value #PREVIEW_BYTES} bytes are cut to a preview.
+ */
 public class ConsolePanel extends JPanel implements Struct {
 
     private final float FONT_SIZE = 12.4f;
+    private static final int PREVIEW_BYTES = 64 * 1024;
     public final static int HEIGHT = 400;
     private final JPanel header = new JPanel();
     private final JComboBox<String> comboBox = new JComboBox<>(
             new String[] { "All logs", "Log", "Info", "Warning", "Error" });
     private final JButton clearButton = new JButton("Clear");
     private final JButton copyButton = new JButton(UiUtils.COPY_ICON);
+    private final JButton exportButton = new JButton(UiUtils.DOWNLOAD_ICON);
     @Getter
     private final JButton closeButon = new JButton();
-    private final JScrollPane scrollConsole = new JScrollPane();
-    private final JPanel containerConsole = new JPanel();
+    private final ConsoleLog log = new ConsoleLog();
+    private final JList<Entry> entryList = new JList<>(log);
+    private final JTextPane detailPane = new JTextPane();
+    private final JSplitPane splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
 
     public ConsolePanel() {
         this.build();
@@ -48,13 +89,16 @@ public class ConsolePanel extends JPanel implements Struct {
 
     @Override
     public void initComponents() {
+        entryList.setCellRenderer(new EntryRenderer());
+        entryList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        entryList.setFixedCellHeight(28);
+        detailPane.setEditable(false);
     }
 
     @Override
     public void configureStyle() {
         Style.setLayout(this, new MigLayout("fill, insets 1 0 1 0", "[grow]", "[]0[grow]"));
-        Style.setLayout(header, new MigLayout("fill, aligny 50%", "push[]8[]8[]10[]"));
-        Style.setLayout(containerConsole, new MigLayout("fillx, wrap, insets 0, gap 0 0"));
+        Style.setLayout(header, new MigLayout("fill, aligny 50%", "push[]8[]8[]8[]10[]"));
         Style.setFontSize(comboBox, FONT_SIZE);
         Style.setCursor(comboBox, Cursor.HAND_CURSOR);
         Style.setUndecoratedButton(clearButton);
@@ -65,20 +109,29 @@ public class ConsolePanel extends JPanel implements Struct {
         Style.setUndecoratedButton(copyButton);
         Style.setBackgroundColor(copyButton, Colors.SECONDARY_COLOR);
         Style.setCursor(copyButton, Cursor.HAND_CURSOR);
+        Style.setUndecoratedButton(exportButton);
+        Style.setBackgroundColor(exportButton, Colors.SECONDARY_COLOR);
+        Style.setCursor(exportButton, Cursor.HAND_CURSOR);
+        Style.setToolTip(exportButton, "Export HAR");
         Style.setUndecoratedButton(closeButon);
         Style.setBackgroundColor(closeButon, Colors.SECONDARY_COLOR);
         Style.setIcon(closeButon, new FlatSVGIcon("icon/close.svg", 0.75f)
                 .setColorFilter(new FlatSVGIcon.ColorFilter(color -> Colors.ICON_COLOR)));
         Style.setCursor(closeButon, Cursor.HAND_CURSOR);
+        Style.setBackgroundColor(entryList, Colors.SECONDARY_COLOR);
+        Style.setFontSize(detailPane, FONT_SIZE);
+        Style.setBackgroundColor(detailPane, Colors.SECONDARY_COLOR);
         Style.setBackgroundColor(this, Colors.SECONDARY_COLOR);
     }
 
     @Override
     public void attachLogic() {
-        clearButton.addActionListener(e -> {
-            containerConsole.removeAll();
-            containerConsole.revalidate();
-            containerConsole.repaint();
+        clearButton.addActionListener(e -> log.clear());
+        exportButton.addActionListener(e -> exportHar());
+        entryList.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showDetails(entryList.getSelectedValue());
+            }
         });
     }
 
@@ -87,218 +140,227 @@ public class ConsolePanel extends JPanel implements Struct {
         header.add(comboBox, "h 28!");
         header.add(clearButton, "h 28!");
         header.add(copyButton, "w 28!, h 28!");
+        header.add(exportButton, "w 28!, h 28!");
         header.add(closeButon, "w 28!, h 28!");
-        scrollConsole.setViewportView(containerConsole);
+        splitPane.setLeftComponent(new JScrollPane(entryList));
+        splitPane.setRightComponent(new JScrollPane(detailPane));
+        splitPane.setResizeWeight(0.5);
         this.add(header, "h 40!, cell 0 0, growx");
-        this.add(scrollConsole, "cell 0 1, grow");
+        this.add(splitPane, "cell 0 1, grow");
     }
 
-    public void appendRequestEntry(Request request, Response response) {
-        var entry = new RequestEntry(request, response);
-        containerConsole.add(entry, "growx, wrap");
-        containerConsole.add(new JSeparator(), "growx, wrap");
-        containerConsole.revalidate();
+    /**
+     * Logs an exchange at the end of the console. Safe to call from any thread.
+     *
+     * @param request   the request as it was sent
+     * @param response  the response received for it
+     * @param historyId the timestamp of the history entry recorded for the
+     *                  send, or {@code null} if none was
+     */
+    public void appendRequestEntry(Request request, Response response, String historyId) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> appendRequestEntry(request, response, historyId));
+            return;
+        }
+        log.add(request, response, historyId);
+        entryList.ensureIndexIsVisible(log.getSize() - 1);
     }
 
-    public class RequestEntry extends JPanel implements Struct {
-        private final JPanel header = new JPanel();
-        private final JToggleButton collapseButton = new JToggleButton(UiUtils.ARROW_RIGHT);
-        private final JLabel method = new JLabel();
-        private final JLabel url = new JLabel();
-
-        private Color color;
-        private final JLabel status = new JLabel();
-        private final JLabel time = new JLabel();
-
-        private final JPanel body = new JPanel();
-
-        private Request request;
-        private Response response;
-
-        public RequestEntry(Request request, Response response) {
-            this.request = request;
-            this.response = response;
-            this.build();
+    /**
+     * Exports the session to a HAR file: history entries whose send is no
+     * longer in the console, followed by every exchange the console still
+     * holds. Sends are matched by the timestamp of their history entry, so
+     * identical requests sent several times are all kept. The file is written
+     * on a background thread.
+     */
+    private void exportHar() {
+        final var result = FileNativeDialog.show("session.har", Mode.SAVE);
+        if (result == null) {
+            return;
         }
+        String fileName = result.getSecond();
+        Path target = Path.of(result.getFirst(), fileName.toLowerCase().endsWith(".har") ? fileName : fileName + ".har");
+        List<Entry> entries = log.toList();
+        List<RequestHistory> history = AppController.requestHistoryController.findAll();
+
+        Thread.ofVirtual().name("har-export").start(() -> {
+            try (OutputStream out = Files.newOutputStream(target);
+                    HarWriter har = new HarWriter(out)) {
+                Set<String> logged = new HashSet<>();
+                entries.forEach(entry -> logged.add(entry.historyId()));
+                for (RequestHistory item : history) {
+                    if (logged.contains(item.timestamp())) {
+                        continue;
+                    }
+                    Response response = AppController.requestHistoryController.responseOf(item);
+                    if (response != null) {
+                        har.write(item.request(), response, item.instant());
+                    } else {
+                        har.write(item);
+                    }
+                }
+                for (Entry entry : entries) {
+                    har.write(entry.request(), entry.response(), entry.started());
+                }
+                SwingUtilities.invokeLater(() -> MessageDialog.showMessage(
+                        Type.SUCCESS,
+                        LangManager.text("app.messageDialog.saved.text")));
+            } catch (IOException | RuntimeException e) {
+                SwingUtilities.invokeLater(() -> MessageDialog.showMessage(Type.ERROR, e.getMessage()));
+            }
+        });
+    }
 
-        @Override
-        public void initComponents() {
-            Style.setLabelText(method, request.getMethod().name());
-            Style.setLabelText(url, request.getUrl());
-            this.color = getStatusColor(response.status());
-            status.setForeground(color);
-            Style.setLabelText(status, response.status().toString());
-            time.setForeground(color);
-            Style.setLabelText(time, response.duration());
+    private void showDetails(Entry entry) {
+        StyledDocument doc = detailPane.getStyledDocument();
+        try {
+            doc.remove(0, doc.getLength());
+        } catch (BadLocationException e) {
+            e.printStackTrace();
         }
-
-        @Override
-        public void configureStyle() {
-            Style.setLayout(this, new MigLayout("fillx, insets 0, wrap", "[grow]", "[]0[grow]"));
-            Style.setLayout(header, new MigLayout("fillx, insets 5 7 5 15", "[]0[][grow][][]", "[]"));
-            Style.setUndecoratedButton(collapseButton);
-            Style.setCursor(collapseButton, Cursor.HAND_CURSOR);
-            Style.setTransparent(collapseButton);
-            Style.setBackgroundColor(collapseButton, Colors.SECONDARY_COLOR);
-            Style.setFontSize(method, FONT_SIZE);
-            Style.setFontSize(url, FONT_SIZE);
-            Style.setFontSize(status, FONT_SIZE);
-            Style.setFontSize(time, FONT_SIZE);
-            Style.setFontSize(body, FONT_SIZE);
-            Style.setLayout(body, new MigLayout("fillx, wrap, insets 0, gap 0 0"));
+        if (entry == null) {
+            return;
         }
-
-        @Override
-        public void attachLogic() {
-            collapseButton.addActionListener(e -> {
-                boolean expanded = collapseButton.isSelected();
-                if (expanded) {
-                    this.add(body, "grow, wrap");
-                } else {
-                    this.remove(body);
-                }
-                collapseButton.setIcon(expanded ? UiUtils.ARROW_DOWN : UiUtils.ARROW_RIGHT);
-                this.revalidate();
-                this.repaint();
-            });
+        Request request = entry.request();
+        Response response = entry.response();
+
+        appendSection(doc, "Network", request.getMethod().name() + " " + request.getUrl() + "\n"
+                + "Status: " + response.status() + "\n"
+                + "Time: " + response.duration() + "\n"
+                + "Size: " + response.size() + "\n");
+        if (response.hasError()) {
+            appendSection(doc, "Error", response.errorMessage());
         }
+        appendSection(doc, "Request Headers", request.headersToString());
+        if (request.getBody() != null && request.getBody().content() != null) {
+            appendSection(doc, "Request Body", preview(request.getBody().content()));
+        }
+        if (!response.hasError()) {
+            appendSection(doc, "Response Headers", response.headersToString());
+        }
+        if (response.body() != null) {
+            appendSection(doc, "Response Body", response.isText()
+                    ? preview(response.body())
+                    : "[binary, " + response.body().length() + " bytes]");
+        }
+        detailPane.setCaretPosition(0);
+    }
 
-        @Override
-        public void compose() {
-            header.add(collapseButton);
-            header.add(method);
-            header.add(url);
-            header.add(status);
-            header.add(time);
-
-            body.add(new PanelCollapse("Network"), "growx, wrap");
-            body.add(new PanelCollapse("Request Headers", request.headersToString()), "grow, wrap");
-            if (request.getBody() != null) {
-                body.add(new PanelCollapse("Request Body", request.getBody().content()), "growx, wrap");
+    private void appendSection(StyledDocument doc, String title, String text) {
+        StyleContext sc = StyleContext.getDefaultStyleContext();
+        AttributeSet titleStyle = sc.addAttribute(
+                sc.addAttribute(SimpleAttributeSet.EMPTY, StyleConstants.Bold, true),
+                StyleConstants.Foreground,
+                Colors.ICON_COLOR);
+        AttributeSet keyStyle = sc.addAttribute(
+                SimpleAttributeSet.EMPTY,
+                StyleConstants.Foreground,
+                Color.decode("#60A5FA"));
+        AttributeSet valueStyle = sc.addAttribute(
+                SimpleAttributeSet.EMPTY,
+                StyleConstants.Foreground,
+                Colors.ICON_COLOR);
+        try {
+            doc.insertString(doc.getLength(), title + "\n", titleStyle);
+            if (title.endsWith("Body")) {
+                doc.insertString(doc.getLength(), text + "\n\n", valueStyle);
+                return;
             }
-            body.add(new PanelCollapse("Response Headers", response.headersToString()), "growx, wrap");
-            if (response.isText()) {
-                body.add(new PanelCollapse("Response Body", response.body()), "growx, wrap");
-            } else if (response.isBinary()) {
-                body.add(new PanelCollapse("Response Body", response.bodyBytes().toString()), "growx, wrap");
+            for (String line : text.split("\n")) {
+                int idx = line.indexOf(":");
+                if (idx != -1) {
+                    doc.insertString(doc.getLength(), line.substring(0, idx).trim(), keyStyle);
+                    doc.insertString(doc.getLength(), ": " + line.substring(idx + 1).trim() + "\n", valueStyle);
+                } else {
+                    doc.insertString(doc.getLength(), line + "\n", valueStyle);
+                }
             }
-            this.add(header, "growx, wrap");
+            doc.insertString(doc.getLength(), "\n", valueStyle);
+        } catch (BadLocationException e) {
+            e.printStackTrace();
         }
+    }
 
-        private Color getStatusColor(int code) {
-            if (code >= 200 && code < 300)
-                return Colors.GET_COLOR;
-            if (code >= 300 && code < 400)
-                return Colors.POST_COLOR;
-            if (code >= 400 && code < 500)
-                return Colors.PUT_COLOR;
-            if (code >= 500)
-                return Colors.PATCH_COLOR;
-            return Colors.DELETE_COLOR;
+    private static String preview(String text) {
+        if (text.length() <= PREVIEW_BYTES) {
+            return text;
         }
-
+        return text.substring(0, PREVIEW_BYTES) + "\n... (" + text.length() + " characters)";
     }
 
-    public class PanelCollapse extends JPanel implements Struct {
-        private final JPanel header = new JPanel();
-        private final JToggleButton collapseButton = new JToggleButton(UiUtils.ARROW_RIGHT);
-        private String titleStr = "";
-        private final JLabel title = new JLabel();
-        private final JPanel containerTextPane = new JPanel();
-        private final JTextPane textPane = new JTextPane();
-
-        public PanelCollapse(String title) {
-            this.titleStr = title;
-            this.build();
+    private static String preview(ResponseBody body) {
+        if (body.length() <= PREVIEW_BYTES) {
+            return body.text();
         }
-
-        public PanelCollapse(String title, String text) {
-            this.titleStr = title;
-            setTextToTextPane(text);
-            this.build();
+        try (InputStream in = body.openStream()) {
+            return decodePrefix(in.readNBytes(PREVIEW_BYTES), body.charset())
+                    + "\n... (" + body.length() + " bytes)";
+        } catch (IOException | RuntimeException e) {
+            return "[unavailable: " + e.getMessage() + "]";
         }
+    }
 
-        @Override
-        public void initComponents() {
-            Style.setLabelText(title, titleStr);
-        }
+    /**
+     * Decodes the first bytes of a body. A character cut by the end of the
+     * prefix is left out rather than shown as a replacement character.
+     */
+    private static String decodePrefix(byte[] prefix, Charset charset) {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer out = CharBuffer.allocate((int) Math.ceil(prefix.length * (double) decoder.maxCharsPerByte()));
+        decoder.decode(ByteBuffer.wrap(prefix), out, false);
+        return out.flip().toString();
+    }
 
-        @Override
-        public void configureStyle() {
-            Style.setLayout(this, new MigLayout("fillx, insets 0 18 5 18, wrap", "[grow]", "[]0[grow]"));
-            Style.setLayout(containerTextPane, new MigLayout("fill, insets 0 25 0 0"));
-            Style.setLayout(header, new MigLayout("fillx, insets 0", "[]0[]push", "[]"));
-            Style.setUndecoratedButton(collapseButton);
-            Style.setCursor(collapseButton, Cursor.HAND_CURSOR);
-            Style.setTransparent(collapseButton);
-            Style.setBackgroundColor(collapseButton, Colors.SECONDARY_COLOR);
-            Style.setFontSize(title, FONT_SIZE);
-            Style.setFontSize(textPane, FONT_SIZE);
-            Style.setBackgroundColor(textPane, Colors.SECONDARY_COLOR);
-        }
+    private static Color getStatusColor(int code) {
+        if (code >= 200 && code < 300)
+            return Colors.GET_COLOR;
+        if (code >= 300 && code < 400)
+            return Colors.POST_COLOR;
+        if (code >= 400 && code < 500)
+            return Colors.PUT_COLOR;
+        if (code >= 500)
+            return Colors.PATCH_COLOR;
+        return Colors.DELETE_COLOR;
+    }
 
-        @Override
-        public void attachLogic() {
-            collapseButton.addActionListener(e -> {
-                boolean expanded = collapseButton.isSelected();
-                containerTextPane.add(textPane, "grow");
-                if (expanded) {
-                    this.add(containerTextPane, "grow, wrap");
-                } else {
-                    this.remove(containerTextPane);
-                }
-                collapseButton.setIcon(expanded ? UiUtils.ARROW_DOWN : UiUtils.ARROW_RIGHT);
-                this.revalidate();
-                this.repaint();
-            });
-        }
+    /**
+     * Paints one row of the entry list. A single instance is reused for every
+     * visible row.
+     */
+    private class EntryRenderer extends JPanel implements ListCellRenderer<Entry> {
+        private final JLabel method = new JLabel();
+        private final JLabel url = new JLabel();
+        private final JLabel status = new JLabel();
+        private final JLabel time = new JLabel();
 
-        @Override
-        public void compose() {
-            header.add(collapseButton);
-            header.add(title);
-            this.add(header, "grow, wrap");
+        private EntryRenderer() {
+            Style.setLayout(this, new MigLayout("fillx, insets 5 15 5 15", "[]8[grow]8[]8[]", "[]"));
+            Style.setFontSize(method, FONT_SIZE);
+            Style.setFontSize(url, FONT_SIZE);
+            Style.setFontSize(status, FONT_SIZE);
+            Style.setFontSize(time, FONT_SIZE);
+            this.add(method);
+            this.add(url, "wmin 0, growx");
+            this.add(status);
+            this.add(time);
         }
 
-        private void setTextToTextPane(String text) {
-            StyledDocument doc = textPane.getStyledDocument();
-            doc.removeUndoableEditListener(null);
-            try {
-                doc.remove(0, doc.getLength());
-            } catch (BadLocationException e) {
-                e.printStackTrace();
-            }
-
-            StyleContext sc = StyleContext.getDefaultStyleContext();
-            AttributeSet keyStyle = sc.addAttribute(
-                    SimpleAttributeSet.EMPTY,
-                    StyleConstants.Foreground,
-                    Color.decode("#60A5FA"));
-            AttributeSet valueStyle = sc.addAttribute(
-                    SimpleAttributeSet.EMPTY,
-                    StyleConstants.Foreground,
-                    Colors.ICON_COLOR);
-
-            for (String line : text.split("\n")) {
-                int idx = line.indexOf(":");
-                if (idx != -1) {
-                    String key = line.substring(0, idx).trim();
-                    String value = line.substring(idx + 1).trim();
-
-                    try {
-                        doc.insertString(doc.getLength(), key, keyStyle);
-                        doc.insertString(doc.getLength(), ": " + value + "\n", valueStyle);
-                    } catch (BadLocationException e) {
-                        e.printStackTrace();
-                    }
-                } else {
-                    try {
-                        doc.insertString(doc.getLength(), line + "\n", valueStyle);
-                    } catch (BadLocationException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Entry> list, Entry entry, int index,
+                boolean isSelected, boolean cellHasFocus) {
+            Request request = entry.request();
+            Response response = entry.response();
+            Color color = getStatusColor(response.status());
+            method.setText(request.getMethod().name());
+            url.setText(request.getUrl());
+            status.setText(response.status().toString());
+            status.setForeground(color);
+            time.setText(response.duration());
+            time.setForeground(color);
+            setBackground(isSelected ? list.getSelectionBackground() : list.getBackground());
+            return this;
         }
     }
 }
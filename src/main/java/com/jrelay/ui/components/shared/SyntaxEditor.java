@@ -4,8 +4,12 @@ import java.awt.Color;
 import java.awt.Cursor;
 import java.awt.Font;
 
+import javax.swing.JButton;
+import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.UIManager;
 
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
 import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
@@ -15,16 +19,47 @@ import org.fife.ui.rtextarea.Gutter;
 import org.fife.ui.rtextarea.RTextScrollPane;
 
 import com.jrelay.core.models.response.ContentDisplayType;
+import com.jrelay.core.utils.i18n.LangManager;
+import com.jrelay.ui.shared.styles.Colors;
 import com.jrelay.ui.shared.styles.Style;
 import com.jrelay.ui.shared.utils.template.Struct;
+import com.jrelay.ui.shared.utils.template.Translatable;
 
 import lombok.Getter;
+import net.miginfocom.swing.MigLayout;
 
+/**
+ * Read-only or editable code view built on {@link RSyntaxTextArea}.
+ * <p>
+ * Content passed to {@link #setContent(CharSequence)} that is longer than
+ * {@value #WINDOW_THRESHOLD} characters is shown in viewer mode: only a window
+ * of about {@value #WINDOW_SIZE} characters, cut at line boundaries, is loaded
+ * into the text area, so tokenizing, highlighting and layout are bounded by the
+ * window rather than the document. The {@link Pager} moves the window and
+ * searches the whole content, and {@link #getText()} still returns all of it.
+ * Above {@value #PLAIN_THRESHOLD} characters windows are rendered without
+ * syntax highlighting. Content is only read through {@link CharSequence}, so a
+ * sequence that decodes on demand, such as a spooled response body, is never
+ * copied onto the heap as a whole just to be shown.
+ */
 public class SyntaxEditor extends RTextScrollPane implements Struct {
 
+    private static final int WINDOW_THRESHOLD = 1_000_000;
+    private static final int PLAIN_THRESHOLD = 20_000_000;
+    private static final int WINDOW_SIZE = 256 * 1024;
+    private static final int MAX_LINE_OVERRUN = 4096;
+
     @Getter
     private final RSyntaxTextArea syntaxTextArea;
     private final SyntaxScheme scheme;
+    @Getter
+    private final Pager pager = new Pager();
+
+    private CharSequence content;
+    private int totalLines;
+    private int windowStart;
+    private int windowEnd;
+    private int windowFirstLine;
 
     public SyntaxEditor(String syntax) {
         super(new RSyntaxTextArea());
@@ -150,6 +185,143 @@ public class SyntaxEditor extends RTextScrollPane implements Struct {
         syntaxTextArea.setCaretPosition(0);
     }
 
+    /**
+     * Shows {@code text}, switching to viewer mode when it is too large to load
+     * into the text area at once.
+     *
+     * @param text the content to show
+     */
+    public void setContent(CharSequence text) {
+        if (text.length() <= WINDOW_THRESHOLD) {
+            content = null;
+            pager.setVisible(false);
+            getGutter().setLineNumberingStartIndex(1);
+            syntaxTextArea.setCodeFoldingEnabled(true);
+            syntaxTextArea.setMarkOccurrences(true);
+            syntaxTextArea.setPaintTabLines(true);
+            setText(text.toString());
+            return;
+        }
+
+        content = text;
+        totalLines = countLines(0, content.length()) + 1;
+        syntaxTextArea.setCodeFoldingEnabled(false);
+        syntaxTextArea.setMarkOccurrences(false);
+        syntaxTextArea.setPaintTabLines(false);
+        if (content.length() > PLAIN_THRESHOLD) {
+            syntaxTextArea.setSyntaxEditingStyle(SyntaxConstants.SYNTAX_STYLE_NONE);
+        }
+        pager.setVisible(true);
+        showWindow(0, 0);
+    }
+
+    private void showWindow(int start, int firstLine) {
+        windowStart = start;
+        windowEnd = lineEndAfter(Math.min(start + WINDOW_SIZE, content.length()));
+        windowFirstLine = firstLine;
+        getGutter().setLineNumberingStartIndex(firstLine + 1);
+        setText(content.subSequence(windowStart, windowEnd).toString());
+        pager.update();
+    }
+
+    private void nextWindow() {
+        if (content != null && windowEnd < content.length()) {
+            showWindow(windowEnd, windowFirstLine + countLines(windowStart, windowEnd));
+        }
+    }
+
+    private void previousWindow() {
+        if (content != null && windowStart > 0) {
+            int start = lineStartBefore(Math.max(0, windowStart - WINDOW_SIZE));
+            showWindow(start, windowFirstLine - countLines(start, windowStart));
+        }
+    }
+
+    /**
+     * Finds the next occurrence of {@code query} in the full content after the
+     * current selection, wrapping around at the end, and selects it.
+     *
+     * @param query the text to look for
+     * @return {@code true} if an occurrence was found
+     */
+    public boolean find(String query) {
+        if (content == null || query.isEmpty()) {
+            return false;
+        }
+        int from = windowStart + syntaxTextArea.getSelectionEnd();
+        int index = indexOf(query, from);
+        if (index < 0) {
+            index = indexOf(query, 0);
+        }
+        if (index < 0) {
+            return false;
+        }
+        if (index < windowStart || index + query.length() > windowEnd) {
+            int start = lineStartBefore(index);
+            showWindow(start, countLines(0, start));
+        }
+        syntaxTextArea.select(index - windowStart, index - windowStart + query.length());
+        return true;
+    }
+
+    private int indexOf(String query, int from) {
+        char first = query.charAt(0);
+        int last = content.length() - query.length();
+        for (int i = Math.max(from, 0); i <= last; i++) {
+            if (content.charAt(i) != first) {
+                continue;
+            }
+            int matched = 1;
+            while (matched < query.length() && content.charAt(i + matched) == query.charAt(matched)) {
+                matched++;
+            }
+            if (matched == query.length()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(char c, int from) {
+        for (int i = from; i < content.length(); i++) {
+            if (content.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int lastIndexOf(char c, int from) {
+        for (int i = Math.min(from, content.length() - 1); i >= 0; i--) {
+            if (content.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int countLines(int from, int to) {
+        int lines = 0;
+        for (int i = from; i < to; i++) {
+            if (content.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private int lineEndAfter(int offset) {
+        int limit = Math.min(content.length(), offset + MAX_LINE_OVERRUN);
+        int newline = indexOf('\n', offset);
+        return newline < 0 || newline >= limit ? limit : newline + 1;
+    }
+
+    private int lineStartBefore(int offset) {
+        int newline = lastIndexOf('\n', offset - 1);
+        return newline < 0 || offset - newline > MAX_LINE_OVERRUN ? Math.max(0, offset - MAX_LINE_OVERRUN)
+                : newline + 1;
+    }
+
     public void setEditable(boolean b) {
         syntaxTextArea.setEditable(b);
     }
@@ -175,8 +347,15 @@ public class SyntaxEditor extends RTextScrollPane implements Struct {
         }
     }
 
+    /**
+     * Returns the full content, including the parts outside the visible window
+     * in viewer mode, where it is decoded in full if it was not already a
+     * string.
+     *
+     * @return the editor content
+     */
     public String getText() {
-        return syntaxTextArea.getText();
+        return content != null ? content.toString() : syntaxTextArea.getText();
     }
 
     public void setLineWrap(boolean wrap) {
@@ -188,4 +367,77 @@ public class SyntaxEditor extends RTextScrollPane implements Struct {
     public boolean getLineWrap() {
         return syntaxTextArea.getLineWrap();
     }
+
+    /**
+     * Navigation bar for viewer mode, showing the visible line range and
+     * searching the full content.
+     */
+    public class Pager extends JPanel implements Struct, Translatable {
+        private final JButton previousButton = new JButton(LangManager.text("syntaxEditor.pager.previousButton.text"));
+        private final JButton nextButton = new JButton(LangManager.text("syntaxEditor.pager.nextButton.text"));
+        private final JLabel positionLabel = new JLabel();
+        private final JTextField searchField = new JTextField();
+
+        private Pager() {
+            this.build();
+            this.setVisible(false);
+            LangManager.register(this);
+        }
+
+        @Override
+        public void initComponents() {
+        }
+
+        @Override
+        public void configureStyle() {
+            Style.setLayout(this, new MigLayout("fillx, insets 2 0 2 17", "[][]10[]push[200!]"));
+            Style.setCursor(previousButton, Cursor.HAND_CURSOR);
+            Style.setCursor(nextButton, Cursor.HAND_CURSOR);
+            Style.setBackgroundColor(previousButton, Colors.SECONDARY_COLOR);
+            Style.setBackgroundColor(nextButton, Colors.SECONDARY_COLOR);
+            Style.setFontSize(positionLabel, 12f);
+            Style.setPlaceholder(searchField, LangManager.text("syntaxEditor.pager.searchField.placeholder.text"));
+        }
+
+        @Override
+        public void attachLogic() {
+            previousButton.addActionListener(e -> previousWindow());
+            nextButton.addActionListener(e -> nextWindow());
+            searchField.addActionListener(e -> {
+                if (!find(searchField.getText())) {
+                    UIManager.getLookAndFeel().provideErrorFeedback(searchField);
+                }
+            });
+        }
+
+        @Override
+        public void compose() {
+            this.add(previousButton, "h 25!");
+            this.add(nextButton, "h 25!");
+            this.add(positionLabel);
+            this.add(searchField, "h 25!");
+        }
+
+        @Override
+        public void updateText() {
+            Style.setButtonText(previousButton, LangManager.text("syntaxEditor.pager.previousButton.text"));
+            Style.setButtonText(nextButton, LangManager.text("syntaxEditor.pager.nextButton.text"));
+            Style.setPlaceholder(searchField, LangManager.text("syntaxEditor.pager.searchField.placeholder.text"));
+            update();
+        }
+
+        private void update() {
+            if (content == null) {
+                return;
+            }
+            int lastLine = windowFirstLine + countLines(windowStart, windowEnd);
+            if (windowEnd == content.length()) {
+                lastLine = totalLines;
+            }
+            Style.setLabelText(positionLabel, String.format(LangManager.text("syntaxEditor.pager.positionLabel.text"),
+                    windowFirstLine + 1, lastLine, totalLines));
+            previousButton.setEnabled(windowStart > 0);
+            nextButton.setEnabled(windowEnd < content.length());
+        }
+    }
 }
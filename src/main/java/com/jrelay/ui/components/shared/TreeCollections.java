@@ -42,6 +42,8 @@ public class TreeCollections extends JPanel implements Struct, Translatable {
     @Getter
     private final JButton newButton = new JButton(LangManager.text("app.panel.newButton.text"), UiUtils.ADD_ICON);
     @Getter
+    private final JButton importButton = new JButton(UiUtils.DOWNLOAD_ICON);
+    @Getter
     private final JTree tree = new JTree();
     private JScrollPane scroll = new JScrollPane();
     @Getter
@@ -74,6 +76,10 @@ public class TreeCollections extends JPanel implements Struct, Translatable {
         Style.setBackgroundColor(newButton, Colors.SECONDARY_COLOR);
         Style.setTextColor(newButton, Colors.ICON_COLOR);
         Style.setCursor(newButton, Cursor.HAND_CURSOR);
+        Style.setUndecoratedButton(importButton);
+        Style.setBackgroundColor(importButton, Colors.SECONDARY_COLOR);
+        Style.setToolTip(importButton, LangManager.text("app.panel.importButton.toolTip.text"));
+        Style.setCursor(importButton, Cursor.HAND_CURSOR);
     }
 
     @Override
@@ -84,6 +90,7 @@ public class TreeCollections extends JPanel implements Struct, Translatable {
     @Override
     public void compose() {
         headerContainer.add(newButton, "h 30!");
+        headerContainer.add(importButton, "w 30!, h 30!");
         this.add(headerContainer, "grow, h 40!, wrap");
         scroll.setViewportView(tree);
         this.add(scroll, "grow");
@@ -92,6 +99,7 @@ public class TreeCollections extends JPanel implements Struct, Translatable {
     @Override
     public void updateText() {
         Style.setButtonText(newButton, LangManager.text("app.panel.newButton.text"));
+        Style.setToolTip(importButton, LangManager.text("app.panel.importButton.toolTip.text"));
     }
 
     public void renderNodes() {
@@ -146,10 +154,7 @@ public class TreeCollections extends JPanel implements Struct, Translatable {
             }
 
             if (result instanceof Request request) {
-                var collection = AppController.collectionController.findAll().stream()
-                        .filter(c -> c.getRequests().contains(request))
-                        .findFirst()
-                        .orElse(null);
+                var collection = AppController.collectionController.findCollectionById(request.getIdCollection());
 
                 if (collection != null) {
                     DefaultMutableTreeNode collectionNode = collectionNodes.computeIfAbsent(
@@ -1,6 +1,7 @@
 package com.jrelay.ui.components.shared;
 
 import java.awt.Component;
+import java.util.List;
 
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -13,6 +14,7 @@ import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreeCellRenderer;
 import javax.swing.tree.TreePath;
 
+import com.jrelay.core.models.RequestHistory;
 import com.jrelay.ui.components.shared.controllers.TreePanelHistoryListener;
 import com.jrelay.ui.components.shared.models.RequestHistoryData;
 import com.jrelay.ui.controllers.AppController;
@@ -60,11 +62,15 @@ public class TreePanelHistory extends JPanel implements Struct {
     }
 
     public void renderNodes() {
+        renderFilteredNodes(AppController.requestHistoryController.findAll());
+    }
+
+    public void renderFilteredNodes(List<RequestHistory> results) {
         DefaultMutableTreeNode root = new DefaultMutableTreeNode("history");
         DefaultTreeModel model = new DefaultTreeModel(root);
         tree.setModel(model);
 
-        for (var reqHistory : AppController.requestHistoryController.findAll()) {
+        for (var reqHistory : results) {
             final var req = reqHistory.request();
             final var requestHistoryData = new RequestHistoryData(
                     req.getIdRequest(),
@@ -3,11 +3,17 @@ package com.jrelay.ui.components.shared.controllers;
 import java.awt.Rectangle;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import javax.swing.JMenuItem;
+import javax.swing.JPopupMenu;
+import javax.swing.SwingUtilities;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.TreePath;
 
+import com.jrelay.core.utils.i18n.LangManager;
+import com.jrelay.ui.components.dialogs.CollectionRunnerDialog;
 import com.jrelay.ui.components.shared.TreeCollections;
 import com.jrelay.ui.components.shared.models.ClickableNode;
+import com.jrelay.ui.components.shared.models.CollectionData;
 
 public class TreeCollectionsListener {
 
@@ -28,6 +34,13 @@ public class TreeCollectionsListener {
                 DefaultMutableTreeNode node = (DefaultMutableTreeNode) path.getLastPathComponent();
                 Object userObject = node.getUserObject();
 
+                if (SwingUtilities.isRightMouseButton(e)) {
+                    if (userObject instanceof CollectionData collection && treeCollections.getWidthCell() < 300) {
+                        showCollectionMenu(treeCollections, collection, e);
+                    }
+                    return;
+                }
+
                 if (userObject instanceof ClickableNode clickable) {
                     clickable.handleClick(relativeX, treeCollections);
                 }
@@ -35,4 +48,13 @@ public class TreeCollectionsListener {
         });
     }
 
+    private static void showCollectionMenu(TreeCollections treeCollections, CollectionData collection,
+            MouseEvent e) {
+        JPopupMenu menu = new JPopupMenu();
+        JMenuItem runItem = new JMenuItem(LangManager.text("collectionRunner.menuItem.text"));
+        runItem.addActionListener(a -> CollectionRunnerDialog.showDialog(collection.id()));
+        menu.add(runItem);
+        menu.show(treeCollections.getTree(), e.getX(), e.getY());
+    }
+
 }
@@ -0,0 +1,145 @@
+package com.jrelay.ui.components.shared.models;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+
+import com.jrelay.core.models.request.Request;
+import com.jrelay.core.models.response.MemoryResponseBody;
+import com.jrelay.core.models.response.Response;
+
+/**
+ * List model of the request/response pairs shown in the console, kept in a
+ * fixed-size ring buffer.
+ * <p>
+ * Entries hold only the request and the response with its body handle; nothing
+ * is rendered until an entry is displayed. Once more than {@code maxEntries}
+ * entries are logged, or their bodies held in memory add up to more than
+ * {@code maxBytes}, the oldest entries are dropped. Response bodies spooled to
+ * disk do not count toward the byte limit, since they take no heap. Must be
+ * used from the Event Dispatch Thread.
+ */
+public class ConsoleLog extends AbstractListModel<ConsoleLog.Entry> {
+
+    public static final int DEFAULT_MAX_ENTRIES = 500;
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    private final Entry[] entries;
+    private final long maxBytes;
+    private int head;
+    private int size;
+    private long bytes;
+
+    public ConsoleLog() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    public ConsoleLog(int maxEntries, long maxBytes) {
+        if (maxEntries < 1 || maxBytes < 0) {
+            throw new IllegalArgumentException("Invalid console limits");
+        }
+        this.entries = new Entry[maxEntries];
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public Entry getElementAt(int index) {
+        return entries[(head + index) % entries.length];
+    }
+
+    /**
+     * Appends an entry, dropping the oldest ones when a limit is exceeded. The
+     * newest entry is always kept.
+     *
+     * @param request   the request as it was sent
+     * @param response  the response received for it
+     * @param historyId the timestamp of the history entry recorded for the
+     *                  send, or {@code null} if none was
+     */
+    public void add(Request request, Response response, String historyId) {
+        Entry entry = new Entry(request, response, startedAt(response), sizeOf(request, response), historyId);
+        int evicted = 0;
+        while (size > 0 && (size == entries.length || bytes + entry.bytes() > maxBytes)) {
+            bytes -= entries[head].bytes();
+            entries[head] = null;
+            head = (head + 1) % entries.length;
+            size--;
+            evicted++;
+        }
+        if (evicted > 0) {
+            fireIntervalRemoved(this, 0, evicted - 1);
+        }
+        entries[(head + size) % entries.length] = entry;
+        size++;
+        bytes += entry.bytes();
+        fireIntervalAdded(this, size - 1, size - 1);
+    }
+
+    /**
+     * @return the logged entries, oldest first
+     */
+    public List<Entry> toList() {
+        List<Entry> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(getElementAt(i));
+        }
+        return list;
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        int removed = size;
+        Arrays.fill(entries, null);
+        head = 0;
+        size = 0;
+        bytes = 0;
+        fireIntervalRemoved(this, 0, removed - 1);
+    }
+
+    /**
+     * Entries are logged when the response arrives, so the start is estimated
+     * from the measured total time when there is one.
+     */
+    private static Instant startedAt(Response response) {
+        Instant now = Instant.now();
+        if (response.timings() != null && response.timings().total() > 0) {
+            return now.minusNanos((long) (response.timings().total() * 1_000_000));
+        }
+        return now;
+    }
+
+    private static long sizeOf(Request request, Response response) {
+        long total = 0;
+        if (request.getBody() != null && request.getBody().content() != null) {
+            total += request.getBody().content().length();
+        }
+        if (response.body() instanceof MemoryResponseBody body) {
+            total += body.length();
+        }
+        return total;
+    }
+
+    /**
+     * One logged exchange.
+     *
+     * @param request   the request as it was sent
+     * @param response  the response received for it
+     * @param started   when the request was started
+     * @param bytes     the size of both bodies held in memory, counted against
+     *                  the byte limit
+     * @param historyId the timestamp of the history entry recorded for the
+     *                  send, or {@code null} if none was
+     */
+    public record Entry(Request request, Response response, Instant started, long bytes, String historyId) {
+    }
+}
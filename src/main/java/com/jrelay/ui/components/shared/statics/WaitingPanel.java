@@ -7,6 +7,7 @@ import javax.swing.JPanel;
 import javax.swing.JProgressBar;
 import javax.swing.SwingConstants;
 
+import com.jrelay.core.builder.ResponseParser.Size;
 import com.jrelay.core.utils.i18n.LangManager;
 import com.jrelay.ui.shared.styles.Style;
 import com.jrelay.ui.shared.utils.template.Struct;
@@ -52,4 +53,27 @@ public class WaitingPanel extends JPanel implements Struct, Translatable {
     public void updateText() {
         Style.setLabelText(loadingLabel, LangManager.text("waitingPanel.loadingLabel.text"));
     }
+
+    public void reset() {
+        progress.setIndeterminate(true);
+        updateText();
+    }
+
+    /**
+     * Shows how much of the response body has been received.
+     * <p>
+     * The progress bar becomes determinate when the server advertised a
+     * content length.
+     *
+     * @param bytesRead     the number of body bytes received
+     * @param contentLength the advertised body length, or {@code -1}
+     */
+    public void setProgress(long bytesRead, long contentLength) {
+        if (contentLength > 0) {
+            progress.setIndeterminate(false);
+            progress.setValue((int) (bytesRead * 100 / contentLength));
+        }
+        Style.setLabelText(loadingLabel,
+                LangManager.text("waitingPanel.loadingLabel.text") + "  " + Size.format(bytesRead));
+    }
 }
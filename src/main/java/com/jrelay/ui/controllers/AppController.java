@@ -18,6 +18,7 @@ import com.jrelay.core.models.Preference.Theme;
 import com.jrelay.core.models.request.Request;
 import com.jrelay.core.models.response.Response;
 import com.jrelay.core.os.OsManager;
+import com.jrelay.core.repository.JsonRepository;
 import com.jrelay.core.utils.i18n.LangManager;
 import com.jrelay.ui.components.dialogs.ConfirmDialog;
 import com.jrelay.ui.components.dialogs.ConfirmDialog.Option;
@@ -96,7 +97,7 @@ public class AppController {
         prefController = new PreferenceController();
         environmentController = new EnvironmentController();
         collectionController = new CollectionController();
-        requestHistoryController = new RequestHistoryController();
+        requestHistoryController = new RequestHistoryController(prefController.getHistoryRetention());
 
         installTheme(prefController.getTheme());
     }
@@ -496,8 +497,8 @@ public class AppController {
         });
     }
 
-    public static void appendRequestEntry(Request request, Response response) {
-        frame.getConsolePanel().appendRequestEntry(request, response);
+    public static void appendRequestEntry(Request request, Response response, String historyId) {
+        frame.getConsolePanel().appendRequestEntry(request, response, historyId);
     }
 
     /**
@@ -551,13 +552,15 @@ public class AppController {
 
     /**
      * Terminates the application immediately.
-     * This method calls {@link System#exit(int)} with a status code of 0,
-     * indicating normal termination.
+     * Pending repository writes are flushed first, then this method calls
+     * {@link System#exit(int)} with a status code of 0, indicating normal
+     * termination.
      *
      * @author ASDFG14N
      * @since 06-08-2025.
      */
     private void exitApplication() {
+        JsonRepository.flushAll();
         frame.dispose();
         System.exit(0);
     }
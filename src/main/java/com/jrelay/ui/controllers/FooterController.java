@@ -10,6 +10,9 @@ import java.net.URISyntaxException;
 import javax.swing.JLayeredPane;
 import javax.swing.JSplitPane;
 import javax.swing.JToggleButton;
+import javax.swing.Timer;
+
+import com.jrelay.core.builder.HttpClient;
 
 import com.jrelay.core.utils.i18n.LangManager;
 import com.jrelay.ui.components.dialogs.MessageDialog;
@@ -25,6 +28,8 @@ import com.jrelay.ui.views.SideBar;
 import com.jrelay.ui.workbech.WorkbenchHttp;
 
 public class FooterController {
+    private static final int POOL_STATS_INTERVAL_MS = 2000;
+
     private final Frame frame;
     private final Footer footer;
     private final SideBar sideBar;
@@ -50,6 +55,8 @@ public class FooterController {
      * listener</li>
      * <li>{@link #setupOrientationButton()} – Initializes the orientation button
      * listener</li>
+     * <li>{@link #setupPoolStats()} – Starts refreshing the connection pool
+     * counters</li>
      * </ul>
      * </p>
      *
@@ -61,6 +68,16 @@ public class FooterController {
         setupDebugConsoleButtonListener();
         setupContributeButton();
         setupOrientationButton();
+        setupPoolStats();
+    }
+
+    /**
+     * Periodically refreshes the connection pool counters shown in the footer.
+     */
+    private void setupPoolStats() {
+        footer.setPoolStats(HttpClient.stats());
+        Timer timer = new Timer(POOL_STATS_INTERVAL_MS, e -> footer.setPoolStats(HttpClient.stats()));
+        timer.start();
     }
 
     /**
@@ -1,5 +1,7 @@
 package com.jrelay.ui.controllers;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -7,15 +9,20 @@ import javax.swing.ButtonGroup;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JRadioButton;
+import javax.swing.SwingUtilities;
 
+import com.jrelay.core.io.CollectionImporter;
 import com.jrelay.core.models.Collection;
 import com.jrelay.core.models.Preference.AccentColor;
+import com.jrelay.core.models.Preference.ExecutionMode;
 import com.jrelay.core.models.Preference.Lang;
 import com.jrelay.core.models.Preference.Theme;
 import com.jrelay.core.utils.i18n.LangManager;
+import com.jrelay.ui.components.dialogs.FileNativeDialog;
 import com.jrelay.ui.components.dialogs.InputDialog;
 import com.jrelay.ui.components.dialogs.MessageDialog;
 import com.jrelay.ui.components.dialogs.SaveEnvDialog;
+import com.jrelay.ui.components.dialogs.FileNativeDialog.Mode;
 import com.jrelay.ui.components.dialogs.MessageDialog.Type;
 import com.jrelay.ui.shared.styles.Colors;
 import com.jrelay.ui.shared.styles.Style;
@@ -55,6 +62,7 @@ public class SideBarController {
     private void initListenersHttpPanel() {
         setupSearch();
         setupNewCollectionButtonListener();
+        setupImportCollectionButtonListener();
         setupNewEnvButtonListener();
         setupCopyButtonListener();
     }
@@ -72,6 +80,34 @@ public class SideBarController {
         setupSelectLangListener();
         setupThemeBackgroundListener();
         setupAccentColorListener();
+        setupCacheListeners();
+        setupExecutionModeListener();
+    }
+
+    /**
+     * Syncs the HTTP cache checkboxes of the settings panel with the saved
+     * preferences and stores every change.
+     */
+    private void setupCacheListeners() {
+        final var settingsPanel = sideBar.getSettingsPanel();
+        final var cacheCheck = settingsPanel.getCacheCheck();
+        final var noCacheCheck = settingsPanel.getNoCacheCheck();
+        cacheCheck.setSelected(AppController.prefController.isCacheEnabled());
+        noCacheCheck.setSelected(AppController.prefController.isForceNoCache());
+        cacheCheck.addActionListener(e -> AppController.prefController.setCacheEnabled(cacheCheck.isSelected()));
+        noCacheCheck.addActionListener(e -> AppController.prefController.setForceNoCache(noCacheCheck.isSelected()));
+    }
+
+    /**
+     * Syncs the virtual threads checkbox of the settings panel with the saved
+     * execution mode and stores every change.
+     */
+    private void setupExecutionModeListener() {
+        final var virtualThreadsCheck = sideBar.getSettingsPanel().getVirtualThreadsCheck();
+        virtualThreadsCheck.setSelected(
+                AppController.prefController.getExecutionMode() == ExecutionMode.VIRTUAL_THREADS);
+        virtualThreadsCheck.addActionListener(e -> AppController.prefController.setExecutionMode(
+                virtualThreadsCheck.isSelected() ? ExecutionMode.VIRTUAL_THREADS : ExecutionMode.DISPATCHER));
     }
 
     /**
@@ -157,6 +193,42 @@ public class SideBarController {
         });
     }
 
+    /**
+     * Sets up the listener for the import button of the collections panel.
+     * <p>
+     * The selected Postman collection or HAR file is parsed on a background
+     * thread and added as a new collection in a single repository write.
+     */
+    private void setupImportCollectionButtonListener() {
+        final var importButton = sideBar.getHttpPanel().getTreeCollections().getImportButton();
+        importButton.addActionListener(e -> {
+            final var result = FileNativeDialog.show(null, Mode.LOAD);
+            if (result == null)
+                return;
+            Path file = Path.of(result.getFirst(), result.getSecond());
+            Thread.ofVirtual().name("collection-import").start(() -> {
+                try {
+                    var imported = CollectionImporter.read(file);
+                    SwingUtilities.invokeLater(() -> {
+                        AppController.collectionController.saveCollections(List.of(imported.collection()));
+                        AppController.renderNodesTreeCollections();
+                        MessageDialog.showMessage(
+                                Type.SUCCESS,
+                                imported.skipped() > 0
+                                        ? String.format(LangManager.text("app.messageDialog.importedSkipped.text"),
+                                                imported.skipped())
+                                        : LangManager.text("app.messageDialog.imported.text"));
+                    });
+                } catch (IOException | RuntimeException ex) {
+                    System.err.println(ex.getMessage());
+                    SwingUtilities.invokeLater(() -> MessageDialog.showMessage(
+                            Type.ERROR,
+                            LangManager.text("app.messageDialog.importFailed.text")));
+                }
+            });
+        });
+    }
+
     /**
      * Sets up listeners for the theme background selection buttons in the settings
      * panel.
@@ -317,12 +389,12 @@ public class SideBarController {
     }
 
     /**
-     * Handles the search query by updating the displayed collections.
+     * Handles the search query by updating the tree of the selected tab.
      * <p>
-     * If the query is empty, all collections are rendered. Otherwise, only
-     * collections
-     * matching the query are displayed by invoking
-     * {@link #renderFilteredCollections(String)}.
+     * If the query is empty, all nodes are rendered. Otherwise, only
+     * collections, environments or history entries matching the query are
+     * displayed; collections and history are answered from their search
+     * indexes.
      *
      * @param query the search query string, expected to be trimmed and lowercased
      * 
@@ -343,6 +415,14 @@ public class SideBarController {
                 return;
             }
             renderFilteredEnvironments(query);
+        } else if (idx == 2) {
+            if (query.isEmpty()) {
+                sideBar.getHttpPanel().getTreePanelHistory().renderNodes();
+                return;
+            }
+            sideBar.getHttpPanel()
+                    .getTreePanelHistory()
+                    .renderFilteredNodes(AppController.requestHistoryController.search(query));
         }
     }
 
@@ -350,10 +430,9 @@ public class SideBarController {
      * Renders only the collection and request nodes that match the given search
      * query.
      * <p>
-     * Iterates through all collections and their requests, adding any items whose
-     * names match the query to a filtered list. The filtered nodes are then
-     * rendered
-     * in the HTTP panel's collection tree.
+     * Matches are looked up in the collection search index, which covers
+     * collection names and request names, URLs, headers and bodies. The filtered
+     * nodes are then rendered in the HTTP panel's collection tree.
      *
      * @param query the search query string used to filter collections and requests
      * 
@@ -361,22 +440,9 @@ public class SideBarController {
      * @since 06-08-2025
      */
     private void renderFilteredCollections(String query) {
-        List<Object> results = new ArrayList<>();
-
-        for (var collection : AppController.collectionController.findAll()) {
-            if (matchesQuery(collection.getName(), query)) {
-                results.add(collection);
-            }
-            for (var request : collection.getRequests()) {
-                if (matchesQuery(request.getName(), query)) {
-                    results.add(request);
-                }
-            }
-        }
-
         sideBar.getHttpPanel()
                 .getTreeCollections()
-                .renderFilteredNodes(results);
+                .renderFilteredNodes(AppController.collectionController.search(query));
     }
 
     private void renderFilteredEnvironments(String query) {
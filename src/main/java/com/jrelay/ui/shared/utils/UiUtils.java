@@ -13,6 +13,9 @@ public class UiUtils {
         public final static Icon SAVE_ICON = new FlatSVGIcon("icon/save.svg", 1.3f)
                         .setColorFilter(new FlatSVGIcon.ColorFilter(color -> Colors.ICON_COLOR));
 
+        public final static Icon GAUGE_ICON = new FlatSVGIcon("icon/gauge.svg", 1.3f)
+                        .setColorFilter(new FlatSVGIcon.ColorFilter(color -> Colors.ICON_COLOR));
+
         public final static Icon TERMINAL_ICON = new FlatSVGIcon("icon/terminal.svg", 0.7f)
                         .setColorFilter(new FlatSVGIcon.ColorFilter(color -> Colors.ICON_COLOR));
 
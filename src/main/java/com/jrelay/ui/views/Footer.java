@@ -3,9 +3,11 @@ package com.jrelay.ui.views;
 import java.awt.Cursor;
 
 import javax.swing.JButton;
+import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JToggleButton;
 
+import com.jrelay.core.builder.HttpClient.PoolStats;
 import com.jrelay.core.utils.i18n.LangManager;
 import com.jrelay.ui.shared.styles.Colors;
 import com.jrelay.ui.shared.styles.Style;
@@ -21,6 +23,8 @@ public class Footer extends JPanel implements Struct, Translatable {
 
     private final JToggleButton toggleSideBarButton = new JToggleButton(UiUtils.SIDEBAR_RIGHT_ICON);
     private final JButton consoleButton = new JButton("Console", UiUtils.TERMINAL_ICON);
+    private final JLabel poolLabel = new JLabel();
+    private PoolStats poolStats = new PoolStats(0, 0, 0, 0);
     private final JButton helpButton = new JButton();
     private final JButton contributeButton = new JButton();
     private JToggleButton orientationButton = new JToggleButton(UiUtils.SIDEBAR_TOP_ICON);
@@ -37,13 +41,15 @@ public class Footer extends JPanel implements Struct, Translatable {
 
     @Override
     public void configureStyle() {
-        Style.setLayout(this, new MigLayout("fill, aligny 50%", "15[]20[]push[]3[]20[]15"));
+        Style.setLayout(this, new MigLayout("fill, aligny 50%", "15[]20[]20[]push[]3[]20[]15"));
         Style.setTransparent(toggleSideBarButton);
         Style.setCursor(toggleSideBarButton, Cursor.HAND_CURSOR);
         Style.setTransparent(consoleButton);
         Style.setCursor(consoleButton, Cursor.HAND_CURSOR);
         Style.setFontSize(consoleButton, 12f);
         Style.setTextColor(consoleButton, Colors.ICON_COLOR);
+        Style.setFontSize(poolLabel, 12f);
+        Style.setTextColor(poolLabel, Colors.ICON_COLOR);
         Style.setFontSize(helpButton, 12f);
         Style.setTextColor(helpButton, Colors.ICON_COLOR);
         Style.setTransparent(helpButton);
@@ -62,6 +68,7 @@ public class Footer extends JPanel implements Struct, Translatable {
     public void compose() {
         this.add(toggleSideBarButton, "w 20!, h 20!");
         this.add(consoleButton, "w 100!, h 20!");
+        this.add(poolLabel, "h 20!");
         this.add(helpButton, "h 20!");
         this.add(contributeButton, "h 20!");
         this.add(orientationButton, "w 20!, h 20!");
@@ -72,6 +79,21 @@ public class Footer extends JPanel implements Struct, Translatable {
         Style.setToolTip(toggleSideBarButton, LangManager.text("footer.toggleSideBarButton.expand.placeholder.text"));
         Style.setButtonText(helpButton, LangManager.text("footer.helpButton.text"));
         Style.setButtonText(contributeButton, LangManager.text("footer.contributeButton.text"));
+        setPoolStats(poolStats);
+    }
+
+    /**
+     * Shows the connection counts of the shared HTTP client, with the dispatcher
+     * load in the tooltip.
+     *
+     * @param stats the latest pool snapshot
+     */
+    public void setPoolStats(PoolStats stats) {
+        this.poolStats = stats;
+        Style.setLabelText(poolLabel, String.format(LangManager.text("footer.poolLabel.text"),
+                stats.idleConnections(), stats.totalConnections()));
+        Style.setToolTip(poolLabel, String.format(LangManager.text("footer.poolLabel.toolTip.text"),
+                stats.runningCalls(), stats.queuedCalls()));
     }
 
 }
@@ -6,6 +6,7 @@ import java.util.List;
 
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -220,6 +221,17 @@ public class SideBar extends JPanel implements Struct {
         private final JRadioButton purple = new JRadioButton();
         private final JRadioButton red = new JRadioButton();
 
+        private final JLabel networkLabel = new JLabel(LangManager.text("sidebar.settingsPanel.networkLabel.text"));
+        @Getter
+        private final JCheckBox cacheCheck = new JCheckBox(
+                LangManager.text("sidebar.settingsPanel.cacheCheck.text"));
+        @Getter
+        private final JCheckBox noCacheCheck = new JCheckBox(
+                LangManager.text("sidebar.settingsPanel.noCacheCheck.text"));
+        @Getter
+        private final JCheckBox virtualThreadsCheck = new JCheckBox(
+                LangManager.text("sidebar.settingsPanel.virtualThreadsCheck.text"));
+
         private final JLabel shortcutsLabel = new JLabel("Shortcuts");
 
         @Getter
@@ -271,6 +283,17 @@ public class SideBar extends JPanel implements Struct {
             Style.setBackgroundColor(lightThemeButton, Colors.SECONDARY_COLOR);
             Style.setToolTip(lightThemeButton, LangManager.text("sidebar.settingsPanel.lightThemeButton.toolTip.text"));
             Style.setUndecoratedButton(lightThemeButton);
+            Style.setFontSize(cacheCheck, 12);
+            Style.setInsets(cacheCheck, 0, 15, 0, 0);
+            Style.setCursor(cacheCheck, Cursor.HAND_CURSOR);
+            Style.setFontSize(noCacheCheck, 12);
+            Style.setInsets(noCacheCheck, 0, 15, 0, 0);
+            Style.setCursor(noCacheCheck, Cursor.HAND_CURSOR);
+            Style.setFontSize(virtualThreadsCheck, 12);
+            Style.setInsets(virtualThreadsCheck, 0, 15, 0, 0);
+            Style.setCursor(virtualThreadsCheck, Cursor.HAND_CURSOR);
+            Style.setToolTip(virtualThreadsCheck,
+                    LangManager.text("sidebar.settingsPanel.virtualThreadsCheck.toolTip.text"));
         }
 
         @Override
@@ -298,6 +321,13 @@ public class SideBar extends JPanel implements Struct {
 
             this.add(separator(), "grow, wrap");
 
+            this.add(networkLabel, "wrap");
+            this.add(cacheCheck, "wrap");
+            this.add(noCacheCheck, "wrap");
+            this.add(virtualThreadsCheck, "wrap");
+
+            this.add(separator(), "grow, wrap");
+
             this.add(shortcutsLabel, "wrap");
         }
 
@@ -308,6 +338,12 @@ public class SideBar extends JPanel implements Struct {
             Style.setLabelText(themeLabel, LangManager.text("sidebar.settingsPanel.themeLabel.text"));
             Style.setLabelText(backgroundLabel, LangManager.text("sidebar.settingsPanel.backgroundLabel.text"));
             Style.setLabelText(accentColorLabel, LangManager.text("sidebar.settingsPanel.accentColorLabel.text"));
+            Style.setLabelText(networkLabel, LangManager.text("sidebar.settingsPanel.networkLabel.text"));
+            cacheCheck.setText(LangManager.text("sidebar.settingsPanel.cacheCheck.text"));
+            noCacheCheck.setText(LangManager.text("sidebar.settingsPanel.noCacheCheck.text"));
+            virtualThreadsCheck.setText(LangManager.text("sidebar.settingsPanel.virtualThreadsCheck.text"));
+            Style.setToolTip(virtualThreadsCheck,
+                    LangManager.text("sidebar.settingsPanel.virtualThreadsCheck.toolTip.text"));
             // Style.setLabelText(shortcutsLabel,
             // LangManager.text("sidebar.settingsPanel.interceptorLabel.text"));
             Style.setToolTip(systemThemeButton,
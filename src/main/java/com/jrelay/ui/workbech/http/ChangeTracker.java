@@ -0,0 +1,200 @@
+package com.jrelay.ui.workbech.http;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+
+import com.jrelay.core.models.request.Request;
+
+/**
+ * Tracks whether the request being edited differs from its saved version.
+ * <p>
+ * Editing only marks what changed and restarts a short timer, so a keystroke
+ * costs the same however large the request is. When typing pauses, each edited
+ * text field is compared against the length and hash it had when the request
+ * was last saved, which needs no copy of the text unless the lengths match.
+ * A different hash proves an edit, but an equal one does not rule it out, so
+ * a field whose length and hash both match is confirmed against a SHA-256
+ * digest of its saved text.
+ * Changes that are not plain text edits, such as the method or a removed row,
+ * are checked by rebuilding the request and comparing it with the saved
+ * snapshot; that comparison keeps running on each pause until the two are
+ * equal again.
+ */
+final class ChangeTracker {
+
+    private static final int DELAY_MS = 250;
+
+    private final Supplier<Request> current;
+    private final Consumer<Boolean> listener;
+    private final List<Field> fields = new ArrayList<>();
+    private final Timer timer;
+    private Request saved;
+    private int savedHash;
+    private boolean structurePending;
+    private boolean structureDirty;
+    private boolean dirty;
+
+    /**
+     * @param current  builds the request from the editor state
+     * @param listener called with the new state whenever it flips between
+     *                 dirty and clean
+     */
+    ChangeTracker(Supplier<Request> current, Consumer<Boolean> listener) {
+        this.current = current;
+        this.listener = listener;
+        this.timer = new Timer(DELAY_MS, e -> check());
+        this.timer.setRepeats(false);
+    }
+
+    /**
+     * Tracks the text of {@code component} as one field of the request.
+     *
+     * @param component the editor to watch
+     */
+    void track(JTextComponent component) {
+        Field field = new Field(component.getDocument());
+        fields.add(field);
+        component.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                //
+            }
+
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                field.pending = true;
+                timer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                field.pending = true;
+                timer.restart();
+            }
+        });
+    }
+
+    /**
+     * Reports a change that is not covered by a tracked text field.
+     */
+    void structureChanged() {
+        structurePending = true;
+        timer.restart();
+    }
+
+    /**
+     * Takes {@code request} as the saved version, records the current text of
+     * every tracked field as its saved value and marks the editor clean.
+     *
+     * @param request the request as it was just loaded or saved
+     */
+    void reset(Request request) {
+        timer.stop();
+        saved = request;
+        savedHash = request.hashCode();
+        for (Field field : fields) {
+            field.snapshot();
+        }
+        structurePending = false;
+        structureDirty = false;
+        update(false);
+    }
+
+    private void check() {
+        if (saved == null) {
+            return;
+        }
+        boolean fieldsDirty = false;
+        for (Field field : fields) {
+            if (field.pending) {
+                field.compare();
+            }
+            fieldsDirty |= field.dirty;
+        }
+        if (structurePending || structureDirty) {
+            Request request = current.get();
+            structureDirty = request.hashCode() != savedHash || !saved.equals(request);
+            structurePending = false;
+            if (!structureDirty) {
+                // The whole request matches, so no field can differ either.
+                fields.forEach(Field::snapshot);
+                fieldsDirty = false;
+            }
+        }
+        update(structureDirty || fieldsDirty);
+    }
+
+    private void update(boolean dirty) {
+        if (this.dirty != dirty) {
+            this.dirty = dirty;
+            listener.accept(dirty);
+        }
+    }
+
+    private static final class Field {
+        private final Document document;
+        private int savedLength;
+        private int savedHash;
+        private byte[] savedDigest;
+        private boolean pending;
+        private boolean dirty;
+
+        private Field(Document document) {
+            this.document = document;
+        }
+
+        private void snapshot() {
+            String text = text();
+            savedLength = text.length();
+            savedHash = text.hashCode();
+            savedDigest = digest(text);
+            pending = false;
+            dirty = false;
+        }
+
+        private void compare() {
+            pending = false;
+            if (document.getLength() != savedLength) {
+                dirty = true;
+                return;
+            }
+            String text = text();
+            dirty = text.hashCode() != savedHash || !Arrays.equals(digest(text), savedDigest);
+        }
+
+        /**
+         * Digests the UTF-16 code units of {@code text} as they are, so unpaired
+         * surrogates are not folded together by a charset encoder.
+         */
+        private static byte[] digest(String text) {
+            ByteBuffer units = ByteBuffer.allocate(text.length() * 2);
+            units.asCharBuffer().put(text);
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(units.array());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        private String text() {
+            try {
+                return document.getText(0, document.getLength());
+            } catch (BadLocationException e) {
+                return "";
+            }
+        }
+    }
+}
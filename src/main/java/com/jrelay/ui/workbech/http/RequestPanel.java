@@ -17,6 +17,7 @@ import javax.swing.JToggleButton;
 
 import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
 
+import com.jrelay.core.models.request.HttpVersion;
 import com.jrelay.core.models.request.Request;
 import com.jrelay.core.models.request.auth.Auth;
 import com.jrelay.core.models.request.auth.BasicAuth;
@@ -118,9 +119,14 @@ public class RequestPanel extends JPanel implements Struct, Translatable {
         @Getter
         private final TextStyleField urlField = new TextStyleField();
         @Getter
+        private final JComboBox<String> protocolComboBox = new JComboBox<>(
+                Arrays.stream(HttpVersion.values()).map(HttpVersion::getLabel).toArray(String[]::new));
+        @Getter
         private final JButton sendButton = new JButton(LangManager.text("requestPanel.toolbar.sendButton.text"));
         @Getter
         private JButton saveButton = new JButton(UiUtils.SAVE_ICON);
+        @Getter
+        private JButton loadTestButton = new JButton(UiUtils.GAUGE_ICON);
 
         private RequestToolbar() {
             this.build();
@@ -134,34 +140,44 @@ public class RequestPanel extends JPanel implements Struct, Translatable {
 
         @Override
         public void configureStyle() {
-            Style.setLayout(this, new MigLayout("fillx, insets 0", "[grow]5[]5[]"));
-            Style.setLayout(containerSearch, new MigLayout("fillx, insets 2", "[]8[420::,grow]"));
+            Style.setLayout(this, new MigLayout("fillx, insets 0", "[grow]5[]5[]5[]"));
+            Style.setLayout(containerSearch, new MigLayout("fillx, insets 2", "[]8[420::,grow]4[]"));
             Style.setBackgroundColor(containerSearch, Colors.TEXT_FIELD_COLOR);
             Style.setRoundComponent(containerSearch);
             Style.setBackgroundColor(urlField, Colors.SECONDARY_COLOR);
             Style.setCursor(methodComboBox, Cursor.HAND_CURSOR);
             Style.setFontSize(methodComboBox, 15f);
+            Style.setCursor(protocolComboBox, Cursor.HAND_CURSOR);
+            Style.setToolTip(protocolComboBox, LangManager.text("requestPanel.toolbar.protocolComboBox.toolTip.text"));
             Style.setFontSize(sendButton, 15f);
             Style.setCursor(sendButton, Cursor.HAND_CURSOR);
             Style.setCursor(saveButton, Cursor.HAND_CURSOR);
             Style.setBackgroundColor(saveButton, Colors.SECONDARY_COLOR);
             Style.setToolTip(saveButton, LangManager.text("requestPanel.toolbar.saveButton.tooTip.text"));
             Style.setUndecoratedButton(saveButton);
+            Style.setCursor(loadTestButton, Cursor.HAND_CURSOR);
+            Style.setBackgroundColor(loadTestButton, Colors.SECONDARY_COLOR);
+            Style.setToolTip(loadTestButton, LangManager.text("loadTest.button.toolTip.text"));
+            Style.setUndecoratedButton(loadTestButton);
         }
 
         @Override
         public void compose() {
             containerSearch.add(methodComboBox, "w 95!, h 35!");
             containerSearch.add(urlField, "h 35!, growx");
+            containerSearch.add(protocolComboBox, "w 90!, h 35!");
             this.add(containerSearch, "grow");
             this.add(sendButton, "h 39!, grow");
             this.add(saveButton, "h 39!, w 39!, grow");
+            this.add(loadTestButton, "h 39!, w 39!, grow");
         }
 
         @Override
         public void updateText() {
             Style.setButtonText(sendButton, LangManager.text("requestPanel.toolbar.sendButton.text"));
             Style.setToolTip(saveButton, LangManager.text("requestPanel.toolbar.saveButton.tooTip.text"));
+            Style.setToolTip(loadTestButton, LangManager.text("loadTest.button.toolTip.text"));
+            Style.setToolTip(protocolComboBox, LangManager.text("requestPanel.toolbar.protocolComboBox.toolTip.text"));
         }
 
         public String getUrl() {
@@ -169,7 +185,7 @@ public class RequestPanel extends JPanel implements Struct, Translatable {
         }
 
         public void changeLoadingButton() {
-            sendButton.setText(LangManager.text("requestPanel.toolbar.sendButton.loading.text"));
+            sendButton.setText(LangManager.text("requestPanel.toolbar.sendButton.stop.text"));
             sendButton.revalidate();
         }
 
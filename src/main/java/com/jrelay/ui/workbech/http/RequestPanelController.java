@@ -9,19 +9,20 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JPanel;
-import javax.swing.SwingWorker;
-import javax.swing.event.DocumentEvent;
-import javax.swing.event.DocumentListener;
+import javax.swing.SwingUtilities;
 import javax.swing.text.JTextComponent;
 
+import com.jrelay.core.builder.VariableResolver;
+import com.jrelay.core.models.RequestHistory;
 import com.jrelay.core.models.request.HttpHeader;
+import com.jrelay.core.models.request.HttpVersion;
 import com.jrelay.core.models.request.QueryParameter;
 import com.jrelay.core.models.request.Request;
 import com.jrelay.core.models.request.auth.BasicAuth;
@@ -32,9 +33,10 @@ import com.jrelay.core.models.request.body.PlainTextBody;
 import com.jrelay.core.models.request.body.XmlBody;
 import com.jrelay.core.models.response.Response;
 import com.jrelay.core.service.HttpClientService;
-import com.jrelay.core.service.HttpClientServiceImpl;
+import com.jrelay.core.service.HttpClientServices;
 import com.jrelay.core.utils.StringUtils;
 import com.jrelay.core.utils.i18n.LangManager;
+import com.jrelay.ui.components.dialogs.LoadTestDialog;
 import com.jrelay.ui.components.dialogs.FileNativeDialog;
 import com.jrelay.ui.components.dialogs.MessageDialog;
 import com.jrelay.ui.components.dialogs.SaveRequestDialog;
@@ -71,6 +73,7 @@ public class RequestPanelController {
     private final RequestLifecycle lifecycle;
 
     private final HttpClientService httpService;
+    private final ChangeTracker changeTracker = new ChangeTracker(this::getRequest, this::onDirtyChanged);
 
     private final RequestToolbarController requestToolbarController;
     private final ParamsPanelController paramsPanelController;
@@ -109,7 +112,7 @@ public class RequestPanelController {
         this.closableTab = closableTab;
         this.fn = fn;
         this.lifecycle = lifecycle;
-        this.httpService = new HttpClientServiceImpl();
+        this.httpService = HttpClientServices.create();
 
         this.requestToolbarController = new RequestToolbarController(requestPanel.getToolbar());
         this.paramsPanelController = new ParamsPanelController(requestPanel.getParamsPanel());
@@ -121,30 +124,38 @@ public class RequestPanelController {
 
     private class RequestToolbarController {
         private final JComboBox<?> methodComboBox;
+        private final JComboBox<?> protocolComboBox;
         private final TextStyleField urlField;
         private final JButton sendButton;
         private final JButton saveButton;
+        private final JButton loadTestButton;
+        private CompletableFuture<Response> inFlight;
 
         private RequestToolbarController(RequestToolbar requestToolbar) {
             this.methodComboBox = requestToolbar.getMethodComboBox();
+            this.protocolComboBox = requestToolbar.getProtocolComboBox();
             this.urlField = requestToolbar.getUrlField();
             this.sendButton = requestToolbar.getSendButton();
             this.saveButton = requestToolbar.getSaveButton();
+            this.loadTestButton = requestToolbar.getLoadTestButton();
             setupMethodChangeListener();
             setupSendButtonListener();
             setupUrlFieldKeyListener();
             attachTextChangeListener(this.urlField);
             setupSaveButtonListener();
+            setupLoadTestButtonListener();
             setupChangeMethodListener();
         }
 
         private void initializeWhenIsNew() {
             methodComboBox.setSelectedIndex(model.getMethod().ordinal());
+            protocolComboBox.setSelectedIndex(httpVersionOf(model).ordinal());
             urlField.setText(model.getUrl());
         }
 
         public void initializeWhenIsNotNew() {
             methodComboBox.setSelectedIndex(model.getMethod().ordinal());
+            protocolComboBox.setSelectedIndex(httpVersionOf(model).ordinal());
             urlField.setText(model.getUrl());
         }
 
@@ -174,7 +185,8 @@ public class RequestPanelController {
          * @since 04-08-2025
          */
         private void setupMethodChangeListener() {
-            this.methodComboBox.addActionListener(e -> manageChanges());
+            this.methodComboBox.addActionListener(e -> changeTracker.structureChanged());
+            this.protocolComboBox.addActionListener(e -> changeTracker.structureChanged());
         }
 
         /**
@@ -195,7 +207,7 @@ public class RequestPanelController {
             this.urlField.addKeyListener(new KeyAdapter() {
                 @Override
                 public void keyPressed(KeyEvent e) {
-                    if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    if (e.getKeyCode() == KeyEvent.VK_ENTER && inFlight == null) {
                         sendButton.doClick();
                     }
                 }
@@ -207,15 +219,21 @@ public class RequestPanelController {
          * request.
          * <p>
          * This method registers an action listener on the Send button, which triggers
-         * the request sending process when clicked.
+         * the request sending process when clicked. While a request is in flight the
+         * button acts as a Stop button and cancels it instead.
          *
          * @author @ASDG14N
          * @since 28-07-2025
          */
         private void setupSendButtonListener() {
             this.sendButton.addActionListener(e -> {
-                sendRequestAsync();
-                AppController.requestHistoryController.add(new Request(getRequest()));
+                if (inFlight != null) {
+                    inFlight.cancel(true);
+                    return;
+                }
+                RequestHistory sent = new RequestHistory(new Request(getResolvedRequest()));
+                sendRequestAsync(sent.timestamp());
+                AppController.requestHistoryController.add(sent);
             });
         }
 
@@ -234,6 +252,14 @@ public class RequestPanelController {
             this.saveButton.addActionListener(e -> handleSaveAction());
         }
 
+        /**
+         * Opens the load test dialog for the request as currently edited, with
+         * environment variables already applied.
+         */
+        private void setupLoadTestButtonListener() {
+            this.loadTestButton.addActionListener(e -> LoadTestDialog.showDialog(getResolvedRequest()));
+        }
+
         /**
          * Handles the logic for saving the current HTTP request.
          * <p>
@@ -255,6 +281,9 @@ public class RequestPanelController {
 
             if (currentRequest.getIdCollection() == null) {
                 SaveRequestDialog.showDialog(currentRequest, closableTab);
+                if (currentRequest.getIdCollection() != null) {
+                    changeTracker.reset(currentRequest);
+                }
                 return;
             }
 
@@ -269,6 +298,7 @@ public class RequestPanelController {
             if (!areRequestsEqual(originalRequest, currentRequest)) {
                 AppController.collectionController.updateRequestById(idCollection, idReq, currentRequest);
                 AppController.renderNodesTreeCollections();
+                changeTracker.reset(currentRequest);
                 closableTab.restore();
 
                 MessageDialog.showMessage(
@@ -281,44 +311,36 @@ public class RequestPanelController {
          * Sends the HTTP request asynchronously and updates the UI with the response.
          * <p>
          * This method retrieves the current request from the UI, displays its cURL
-         * representation,
-         * and uses a {@link SwingWorker} to perform the network operation in a
-         * background thread.
-         * It invokes lifecycle hooks before and after the request execution and passes
-         * the response
-         * to a callback for handling.
-         * <p>
-         * Exceptions during the request are caught and printed to the standard error
-         * stream.
+         * representation, and composes on the future returned by
+         * {@link HttpClientService#sendAsync}, so no thread waits for the network.
+         * Lifecycle hooks and the response callback run on the EDT. The pending
+         * future is kept so the Stop button can cancel the call.
          *
+         * @param historyId the timestamp of the history entry recorded for this
+         *                  send, logged with it in the console and given its
+         *                  response
          * @author @ASDG14N
          * @since 30-07-2025
          */
-        private void sendRequestAsync() {
-            Request request = getRequest();
+        private void sendRequestAsync(String historyId) {
+            Request request = getResolvedRequest();
 
             AppController.setCode(request.toCurl());
+            lifecycle.onStart();
 
-            SwingWorker<Response, Void> worker = new SwingWorker<>() {
-                @Override
-                protected Response doInBackground() throws InterruptedException, ExecutionException {
-                    lifecycle.onStart();
-                    return httpService.sendAsync(request).get();
+            CompletableFuture<Response> future = httpService.sendAsync(request, lifecycle::onProgress);
+            inFlight = future;
+            future.whenComplete((result, ex) -> SwingUtilities.invokeLater(() -> {
+                if (inFlight == future) {
+                    inFlight = null;
                 }
-
-                @Override
-                protected void done() {
-                    lifecycle.onFinish();
-                    try {
-                        Response response = get();
-                        AppController.appendRequestEntry(request, response);
-                        fn.accept(response);
-                    } catch (Exception ex) {
-                        ex.printStackTrace();
-                    }
-                }
-            };
-            worker.execute();
+                lifecycle.onFinish();
+                Response response = future.isCancelled() ? new Response("Request canceled")
+                        : ex != null ? new Response("Error: " + ex.getMessage()) : result;
+                AppController.appendRequestEntry(request, response, historyId);
+                AppController.requestHistoryController.complete(historyId, response);
+                fn.accept(response);
+            }));
         }
     }
 
@@ -759,6 +781,7 @@ public class RequestPanelController {
             this.model = requestPanel.getModel();
             initializeWhenIsNotNew();
         }
+        changeTracker.reset(model);
     }
 
     /**
@@ -828,6 +851,7 @@ public class RequestPanelController {
         row.getKeyField().addKeyListener(new KeyAdapter() {
             @Override
             public void keyReleased(KeyEvent e) {
+                changeTracker.structureChanged();
                 boolean isLast = ls.indexOf(row) == ls.size() - 1;
                 boolean hasText = !row.getKeyField().getText().trim().isEmpty();
 
@@ -847,6 +871,7 @@ public class RequestPanelController {
         row.getKeyField().addKeyListener(new KeyAdapter() {
             @Override
             public void keyReleased(KeyEvent e) {
+                changeTracker.structureChanged();
                 boolean isLast = ls.indexOf(row) == ls.size() - 1;
                 boolean hasText = !row.getKeyField().getText().trim().isEmpty();
 
@@ -889,6 +914,7 @@ public class RequestPanelController {
             container.remove(row);
             ls.remove(row);
             fun.accept(ls.size());
+            changeTracker.structureChanged();
             if (isQueryParams) {
                 updateUrl(ls, this.requestToolbarController.urlField);
             }
@@ -924,6 +950,7 @@ public class RequestPanelController {
             container.remove(row);
             ls.remove(row);
             fun.accept(ls.size());
+            changeTracker.structureChanged();
             container.revalidate();
             container.repaint();
         });
@@ -1130,6 +1157,7 @@ public class RequestPanelController {
                 checkBox.setSelected(false);
                 return;
             }
+            changeTracker.structureChanged();
             if (isQueryParams) {
                 updateUrl(getSelectedRows(this.paramsPanelController.paramsList),
                         this.requestToolbarController.urlField);
@@ -1220,49 +1248,56 @@ public class RequestPanelController {
      * URL, parameters, headers, authentication, and body—and maps them into a
      * {@code Request} model.
      *
+     * Placeholders such as {@code {{host}}} are kept as typed, so the result
+     * can be saved and compared with the stored request; use
+     * {@link #getResolvedRequest()} for the request to send.
+     *
      * @return a populated Request object reflecting the current UI input
      *         state
      * @author @ASDG14N
      * @since 28-07-2025
      */
     public Request getRequest() {
-        if (WorkbenchHttp.isEnvironmentSelected()) {
-            Request model = new Request(requestPanel.getModel());
-            model.setMethod(Mapper.fromComboBox(requestPanel.getToolbar().getMethodComboBox()));
-            var replacements = AppController.environmentController
-                    .findVariablesByEnvironment(WorkbenchHttp.getSelectedEnv());
-            String url = StringUtils.replaceVariables(requestPanel.getToolbar().getUrl(), replacements);
-            model.setUrl(url);
-            model.setParams(Mapper.fromRowsQueryParameters(this.paramsPanelController.paramsList));
-            model.setHeaders(Mapper.fromRowsHttpHeaders(this.headersPanelController.headersList));
-            model.setAuth(requestPanel.getAuthPanel().getAuth());
-            model.setBody(requestPanel.getBodyPanel().getContent());
-            return model;
-        } else {
-            Request model = new Request(requestPanel.getModel());
-            model.setMethod(Mapper.fromComboBox(requestPanel.getToolbar().getMethodComboBox()));
-            model.setUrl(requestPanel.getToolbar().getUrl());
-            model.setParams(Mapper.fromRowsQueryParameters(this.paramsPanelController.paramsList));
-            model.setHeaders(Mapper.fromRowsHttpHeaders(this.headersPanelController.headersList));
-            model.setAuth(requestPanel.getAuthPanel().getAuth());
-            model.setBody(requestPanel.getBodyPanel().getContent());
-            return model;
+        Request model = new Request(requestPanel.getModel());
+        model.setMethod(Mapper.fromComboBox(requestPanel.getToolbar().getMethodComboBox()));
+        model.setUrl(requestPanel.getToolbar().getUrl());
+        model.setHttpVersion(HttpVersion.values()[requestPanel.getToolbar().getProtocolComboBox().getSelectedIndex()]);
+        model.setParams(Mapper.fromRowsQueryParameters(this.paramsPanelController.paramsList));
+        model.setHeaders(Mapper.fromRowsHttpHeaders(this.headersPanelController.headersList));
+        model.setAuth(requestPanel.getAuthPanel().getAuth());
+        model.setBody(requestPanel.getBodyPanel().getContent());
+        return model;
+    }
+
+    private static HttpVersion httpVersionOf(Request request) {
+        return request.getHttpVersion() != null ? request.getHttpVersion() : HttpVersion.AUTO;
+    }
+
+    /**
+     * Returns the current request with the variables of the selected
+     * environment substituted in its URL, parameters, headers, authentication
+     * and body.
+     *
+     * @return the request ready to be sent
+     */
+    public Request getResolvedRequest() {
+        Request request = getRequest();
+        if (!WorkbenchHttp.isEnvironmentSelected()) {
+            return request;
         }
+        var variables = AppController.environmentController
+                .findVariablesByEnvironment(WorkbenchHttp.getSelectedEnv());
+        return VariableResolver.resolve(request, variables);
     }
 
     /**
-     * Manages the state of the current tab based on changes in the request.
-     * <p>
-     * Compares the current request model with the latest request data. If
-     * differences
-     * are detected, marks the tab as having unsaved changes; otherwise, restores it
-     * to the saved state.
+     * Marks the tab as having unsaved changes or restores it to the saved
+     * state when the {@link ChangeTracker} reports a transition.
      *
-     * @author ASDFG14N
-     * @since 11-08-2025
+     * @param dirty whether the request now differs from its saved version
      */
-    private void manageChanges() {
-        if (!areRequestsEqual(model, getRequest())) {
+    private void onDirtyChanged(boolean dirty) {
+        if (dirty) {
             closableTab.changeDetected();
         } else {
             closableTab.restore();
@@ -1270,21 +1305,6 @@ public class RequestPanelController {
     }
 
     private void attachTextChangeListener(JTextComponent component) {
-        component.getDocument().addDocumentListener(new DocumentListener() {
-            @Override
-            public void changedUpdate(DocumentEvent e) {
-                //
-            }
-
-            @Override
-            public void insertUpdate(DocumentEvent e) {
-                manageChanges();
-            }
-
-            @Override
-            public void removeUpdate(DocumentEvent e) {
-                manageChanges();
-            }
-        });
+        changeTracker.track(component);
     }
 }
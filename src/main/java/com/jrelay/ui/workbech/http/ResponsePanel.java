@@ -5,10 +5,13 @@ import java.awt.Color;
 import java.awt.Cursor;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.util.List;
 
+import javax.swing.ButtonGroup;
+import javax.swing.Icon;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
@@ -24,7 +27,12 @@ import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
 
 import com.formdev.flatlaf.FlatClientProperties;
 import com.formdev.flatlaf.extras.FlatSVGIcon;
+import com.jrelay.core.models.response.CacheStatus;
+import com.jrelay.core.models.response.ConnectionStats;
 import com.jrelay.core.models.response.ContentDisplayType;
+import com.jrelay.core.models.response.FileResponseBody;
+import com.jrelay.core.models.response.ResponseBody;
+import com.jrelay.core.models.response.Timings;
 import com.jrelay.core.utils.i18n.LangManager;
 import com.jrelay.ui.components.dialogs.FileNativeDialog;
 import com.jrelay.ui.components.dialogs.MessageDialog;
@@ -87,19 +95,19 @@ public class ResponsePanel extends JPanel implements Struct, Translatable {
         tabbedPane.setTitleAt(1, LangManager.text("responsePanel.tabbedPane.tab2.title.text"));
     }
 
-    public void setTextContentType(ContentDisplayType contentDisplayType, String text) {
+    public void setTextContentType(ContentDisplayType contentDisplayType, CharSequence text) {
         if (tabbedPane.getComponentAt(0) != syntaxEditorPanel) {
             tabbedPane.setComponentAt(0, syntaxEditorPanel);
         }
         syntaxEditorPanel.getSyntaxEditor().setSyntaxEditingStyle(contentDisplayType);
-        syntaxEditorPanel.getSyntaxEditor().setText(text);
+        syntaxEditorPanel.getSyntaxEditor().setContent(text);
     }
 
-    public void setBinaryContentType(ContentDisplayType contentDisplayType, byte[] data) {
+    public void setBinaryContentType(ContentDisplayType contentDisplayType, ResponseBody body) {
         if (tabbedPane.getComponentAt(0) != binaryPanel) {
             tabbedPane.setComponentAt(0, binaryPanel);
         }
-        binaryPanel.showContent(contentDisplayType, data);
+        binaryPanel.showContent(contentDisplayType, body);
     }
 
     public class StatusPanel extends JPanel implements Struct, Translatable {
@@ -113,6 +121,13 @@ public class ResponsePanel extends JPanel implements Struct, Translatable {
         private JLabel sizeLabel;
         private final JLabel size = new JLabel("");
 
+        private JLabel protocolLabel;
+        private final JLabel protocol = new JLabel("");
+
+        private JLabel cacheLabel;
+        private final JLabel cache = new JLabel("");
+        private CacheStatus cacheStatus;
+
         private Color color;
 
         private StatusPanel() {
@@ -125,14 +140,20 @@ public class ResponsePanel extends JPanel implements Struct, Translatable {
             statusCodeLabel = new JLabel(LangManager.text("responsePanel.statusPanel.statusCodeLabel.text"));
             timeLabel = new JLabel(LangManager.text("responsePanel.statusPanel.timeLabel.text"));
             sizeLabel = new JLabel(LangManager.text("responsePanel.statusPanel.sizeLabel.text"));
+            protocolLabel = new JLabel(LangManager.text("responsePanel.statusPanel.protocolLabel.text"));
+            cacheLabel = new JLabel(LangManager.text("responsePanel.statusPanel.cacheLabel.text"));
+            cacheLabel.setVisible(false);
+            cache.setVisible(false);
         }
 
         @Override
         public void configureStyle() {
-            Style.setLayout(this, new MigLayout("insets 10 0 0 15, fillx", "push[][][][]20[][]20[][]"));
+            Style.setLayout(this, new MigLayout("insets 10 0 0 15, fillx", "push[][][][]20[][]20[][]20[][]20[][]"));
             Style.setTransparent(this);
             cicle.putClientProperty(FlatClientProperties.STYLE, "arc: 10");
             Style.setCursor(status, Cursor.HAND_CURSOR);
+            Style.setCursor(time, Cursor.HAND_CURSOR);
+            Style.setCursor(protocol, Cursor.HAND_CURSOR);
         }
 
         @Override
@@ -147,6 +168,12 @@ public class ResponsePanel extends JPanel implements Struct, Translatable {
 
             this.add(sizeLabel);
             this.add(size, "aligny center");
+
+            this.add(protocolLabel);
+            this.add(protocol, "aligny center");
+
+            this.add(cacheLabel, "hidemode 3");
+            this.add(cache, "aligny center, hidemode 3");
         }
 
         @Override
@@ -154,6 +181,14 @@ public class ResponsePanel extends JPanel implements Struct, Translatable {
             Style.setLabelText(statusCodeLabel, LangManager.text("responsePanel.statusPanel.statusCodeLabel.text"));
             Style.setLabelText(timeLabel, LangManager.text("responsePanel.statusPanel.timeLabel.text"));
             Style.setLabelText(sizeLabel, LangManager.text("responsePanel.statusPanel.sizeLabel.text"));
+            Style.setLabelText(protocolLabel, LangManager.text("responsePanel.statusPanel.protocolLabel.text"));
+            Style.setLabelText(cacheLabel, LangManager.text("responsePanel.statusPanel.cacheLabel.text"));
+            if (cacheStatus != null) {
+                cache.setText(LangManager.text(cacheStatus.getBundleKey()));
+            }
+            if (protocol.getToolTipText() != null) {
+                protocol.setToolTipText(LangManager.text("responsePanel.statusPanel.protocol.toolTip.text"));
+            }
         }
 
         private Color getStatusColor(int code) {
@@ -183,20 +218,66 @@ public class ResponsePanel extends JPanel implements Struct, Translatable {
             this.time.setForeground(color);
         }
 
+        /**
+         * Shows the per-phase breakdown of the call as the tooltip of the time.
+         *
+         * @param timings the measured phases, or {@code null} to clear it
+         */
+        public void setTimings(Timings timings) {
+            this.time.setToolTipText(timings == null ? null
+                    : "<html>" + timings.describe().strip().replace("\n", "<br>") + "</html>");
+        }
+
         public void setSize(String size) {
             this.size.setText(size);
             this.size.setForeground(color);
         }
 
+        /**
+         * Shows the negotiated protocol with the active and total streams of its
+         * connection.
+         *
+         * @param connection the connection of the response, or {@code null} to
+         *                   clear it
+         */
+        public void setConnection(ConnectionStats connection) {
+            this.protocol.setText(connection != null ? connection.describe() : "");
+            this.protocol.setForeground(color);
+            this.protocol.setToolTipText(connection != null && connection.totalStreams() > 0
+                    ? LangManager.text("responsePanel.statusPanel.protocol.toolTip.text")
+                    : null);
+        }
+
+        /**
+         * Shows how the disk cache answered, or hides the field when caching is
+         * off.
+         *
+         * @param cacheStatus the cache status of the response, or {@code null}
+         */
+        public void setCacheStatus(CacheStatus cacheStatus) {
+            this.cacheStatus = cacheStatus;
+            cacheLabel.setVisible(cacheStatus != null);
+            cache.setVisible(cacheStatus != null);
+            cache.setText(cacheStatus != null ? LangManager.text(cacheStatus.getBundleKey()) : "");
+            cache.setForeground(color);
+        }
+
     }
 
     public class SyntaxEditorPanel extends JPanel implements Struct, Translatable {
         @Getter
         private SyntaxEditor syntaxEditor;
-        private final JPanel container = new JPanel(new MigLayout("fill, aligny 50%, insets 0 0 0 17", "[]push[][][]"));
+        private final JPanel container = new JPanel(
+                new MigLayout("fill, aligny 50%, insets 0 0 0 17", "[]15[]0[]push[][][]"));
         private final JLabel titleLabel = new JLabel(
                 LangManager.text("responsePanel.syntaxEditorPanel.titleLabel.text"));
         @Getter
+        private final JToggleButton rawButton = new JToggleButton(
+                LangManager.text("responsePanel.syntaxEditorPanel.rawButton.text"), true);
+        @Getter
+        private final JToggleButton prettyButton = new JToggleButton(
+                LangManager.text("responsePanel.syntaxEditorPanel.prettyButton.text"));
+        @Getter
         private final JToggleButton lineWrapButton = new JToggleButton(UiUtils.LINE_WRAP_ICON);
         @Getter
         private final JButton downloadButton = new JButton(UiUtils.DOWNLOAD_ICON);
@@ -215,7 +296,7 @@ public class ResponsePanel extends JPanel implements Struct, Translatable {
 
         @Override
         public void configureStyle() {
-            Style.setLayout(this, new MigLayout("fill, insets 5 10 5 10", "[grow]", "[]0[grow]"));
+            Style.setLayout(this, new MigLayout("fill, insets 5 10 5 10", "[grow]", "[]0[]0[grow]"));
             Style.setCursor(lineWrapButton, Cursor.HAND_CURSOR);
             Style.setBackgroundColor(lineWrapButton, Colors.SECONDARY_COLOR);
             Style.setToolTip(lineWrapButton, LangManager.text("app.panel.lineWrapButton.deactivate.toolTip.text"));
@@ -228,21 +309,34 @@ public class ResponsePanel extends JPanel implements Struct, Translatable {
             Style.setBackgroundColor(copyButton, Colors.SECONDARY_COLOR);
             Style.setToolTip(copyButton, LangManager.text("app.panel.copyButton.toolTip.text"));
             Style.setUndecoratedButton(copyButton);
+
+            ButtonGroup viewGroup = new ButtonGroup();
+            for (JToggleButton button : List.of(rawButton, prettyButton)) {
+                viewGroup.add(button);
+                Style.setCursor(button, Cursor.HAND_CURSOR);
+                Style.setBackgroundColor(button, Colors.SECONDARY_COLOR);
+                Style.setFontSize(button, 12f);
+            }
         }
 
         @Override
         public void compose() {
             container.add(titleLabel);
+            container.add(rawButton, "h 25!");
+            container.add(prettyButton, "h 25!");
             container.add(lineWrapButton, "w 25!, h 25!");
             container.add(downloadButton, "w 25!, h 25!");
             container.add(copyButton, "w 25!, h 25!");
             this.add(container, "h 30!, cell 0 0, growx");
-            this.add(syntaxEditor, "cell 0 1, grow");
+            this.add(syntaxEditor.getPager(), "cell 0 1, growx, hidemode 3");
+            this.add(syntaxEditor, "cell 0 2, grow");
         }
 
         @Override
         public void updateText() {
             Style.setLabelText(titleLabel, LangManager.text("responsePanel.syntaxEditorPanel.titleLabel.text"));
+            Style.setButtonText(rawButton, LangManager.text("responsePanel.syntaxEditorPanel.rawButton.text"));
+            Style.setButtonText(prettyButton, LangManager.text("responsePanel.syntaxEditorPanel.prettyButton.text"));
             Style.setToolTip(lineWrapButton, LangManager.text("app.panel.lineWrapButton.deactivate.toolTip.text"));
             Style.setToolTip(downloadButton, LangManager.text("app.panel.downloadButton.toolTip.text"));
             Style.setToolTip(copyButton, LangManager.text("app.panel.copyButton.toolTip.text"));
@@ -251,7 +345,8 @@ public class ResponsePanel extends JPanel implements Struct, Translatable {
     }
 
     public class BinaryPanel extends JPanel implements Struct, Translatable {
-        private File tempFile;
+        private ResponseBody content;
+        private String fileName;
         private final CardLayout cardLayout = new CardLayout();
 
         private final JScrollPane imagePanel = new JScrollPane();
@@ -340,84 +435,69 @@ public class ResponsePanel extends JPanel implements Struct, Translatable {
             Style.setLabelText(unsupportedLabel, LangManager.text("responsePanel.unsupportedLabel.text"));
         }
 
-        public void showContent(ContentDisplayType type, byte[] data) {
+        public void showContent(ContentDisplayType type, ResponseBody body) {
+            this.content = body;
             switch (type) {
                 case IMAGE -> {
-                    boolean isSvg = new String(data, 0, Math.min(data.length, 200), StandardCharsets.UTF_8)
-                            .contains("<svg");
-
-                    if (isSvg) {
-                        storeTempFile("image", data);
-                        if (tempFile != null) {
-                            FlatSVGIcon svgIcon = new FlatSVGIcon(tempFile).derive(4.2f);
-                            imageLabel.setIcon(svgIcon);
-                        } else {
-                            MessageDialog.showMessage(Location.TOP_CENTER, Type.ERROR, "Error rendering SVG");
-                        }
-                    } else {
-                        imageLabel.setIcon(new ImageIcon(data));
-                        storeTempFile("image", data);
+                    fileName = "image";
+                    try {
+                        imageLabel.setIcon(createImageIcon(body));
+                    } catch (IOException | UncheckedIOException e) {
+                        imageLabel.setIcon(null);
+                        MessageDialog.showMessage(Location.TOP_CENTER, Type.ERROR, "Error rendering image");
+                        System.err.println(e.getMessage());
                     }
                     cardLayout.show(this, "IMAGE");
                 }
                 case PDF -> {
                     cardLayout.show(this, "PDF");
-                    storeTempFile("document.pdf", data);
+                    fileName = "document.pdf";
                 }
                 case AUDIO -> {
                     cardLayout.show(this, "AUDIO");
-                    storeTempFile("audio", data);
+                    fileName = "audio";
                 }
                 case VIDEO -> {
                     cardLayout.show(this, "VIDEO");
-                    storeTempFile("video", data);
+                    fileName = "video";
                 }
                 default -> {
                     cardLayout.show(this, "UNSUPPORTED");
-                    storeTempFile("file.bin", data);
+                    fileName = "file.bin";
                 }
             }
         }
 
-        private String cleanFileName(File tempFile) {
-            String name = tempFile.getName();
-
-            int dotIndex = name.lastIndexOf('.');
-            if (dotIndex > 0 && dotIndex < name.length() - 1) {
-                String base = name.substring(0, dotIndex);
-                String ext = name.substring(dotIndex);
-
-                ext = ext.replaceAll("\\d+$", "");
-
-                return base + ext;
+        private Icon createImageIcon(ResponseBody body) throws IOException {
+            byte[] prefix;
+            try (InputStream in = body.openStream()) {
+                prefix = in.readNBytes(200);
             }
+            boolean isSvg = new String(prefix, StandardCharsets.UTF_8).contains("<svg");
 
-            return name.replaceAll("\\d+$", "");
-        }
-
-        private void storeTempFile(String fileName, byte[] data) {
-            try {
-                tempFile = Files.createTempFile(fileName, "").toFile();
-                Files.write(tempFile.toPath(), data);
-                tempFile.deleteOnExit();
-            } catch (IOException e) {
-                MessageDialog.showMessage(Location.TOP_CENTER, Type.ERROR, "Error saving file");
-                System.err.println(e.getMessage());
+            if (isSvg) {
+                try (InputStream in = body.openStream()) {
+                    return new FlatSVGIcon(in).derive(4.2f);
+                }
+            }
+            if (body instanceof FileResponseBody file) {
+                return new ImageIcon(file.getPath().toString());
             }
+            return new ImageIcon(body.bytes());
         }
 
         private void downloadCurrentFile() {
-            if (tempFile == null || !tempFile.exists()) {
+            if (content == null) {
                 MessageDialog.showMessage(Location.TOP_CENTER, Type.ERROR, "No file to download");
                 return;
             }
 
-            final var result = FileNativeDialog.show(cleanFileName(tempFile), Mode.SAVE);
+            final var result = FileNativeDialog.show(fileName, Mode.SAVE);
 
             if (result != null) {
                 try {
                     File target = new File(result.getFirst(), result.getSecond());
-                    Files.copy(tempFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    content.writeTo(target.toPath());
                     MessageDialog.showMessage(Location.TOP_CENTER, Type.SUCCESS, "File saved successfully");
                 } catch (IOException e) {
                     MessageDialog.showMessage(Location.TOP_CENTER, Type.ERROR, "Error saving file");
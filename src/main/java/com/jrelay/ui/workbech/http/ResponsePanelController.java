@@ -3,11 +3,14 @@ package com.jrelay.ui.workbech.http;
 import java.util.Map;
 
 import javax.swing.JToggleButton;
+import javax.swing.SwingUtilities;
 
 import java.awt.Color;
 import java.io.File;
+import java.io.IOException;
 
 import com.formdev.flatlaf.extras.FlatSVGIcon;
+import com.jrelay.core.models.response.FileResponseBody;
 import com.jrelay.core.models.response.Response;
 import com.jrelay.core.utils.i18n.LangManager;
 import com.jrelay.ui.components.dialogs.FileNativeDialog;
@@ -35,6 +38,7 @@ public class ResponsePanelController {
 
     private final ResponsePanel responsePanel;
     private final SyntaxEditorPanel syntaxEditorPanel;
+    private Response current;
 
     /**
      * Constructs a controller for managing interactions within a
@@ -59,8 +63,8 @@ public class ResponsePanelController {
     /**
      * Registers all necessary event listeners for the response panel.
      * <p>
-     * This includes listeners for toggling line wrap, downloading the response as a
-     * file,
+     * This includes listeners for switching between the raw and pretty views,
+     * toggling line wrap, downloading the response as a file,
      * and copying the response content to the clipboard.
      *
      * @author ASDFG14N
@@ -68,11 +72,45 @@ public class ResponsePanelController {
      */
 
     private void setupListeners() {
+        setupViewToggle();
         setupLineWrapToggle();
         setupDownloadFileListener();
         setupCopyListener();
     }
 
+    /**
+     * Switches the body editor between the raw text and the pretty-printed text
+     * of the current response.
+     */
+    private void setupViewToggle() {
+        syntaxEditorPanel.getRawButton().addActionListener(e -> {
+            if (current != null && current.isText()) {
+                responsePanel.setTextContentType(current.displayType(), current.body().chars());
+            }
+        });
+        syntaxEditorPanel.getPrettyButton().addActionListener(e -> showPretty(current));
+    }
+
+    /**
+     * Shows the pretty-printed body of {@code response} once it is available.
+     * <p>
+     * The formatting runs in the background and is cached on the response; the
+     * editor keeps the raw text until it completes, and the result is dropped if
+     * another response or the raw view has been selected in the meantime.
+     *
+     * @param response the response whose formatted body should be shown
+     */
+    private void showPretty(Response response) {
+        if (response == null || response.pretty() == null) {
+            return;
+        }
+        response.pretty().get().thenAccept(text -> SwingUtilities.invokeLater(() -> {
+            if (current == response && syntaxEditorPanel.getPrettyButton().isSelected()) {
+                responsePanel.setTextContentType(response.displayType(), text);
+            }
+        }));
+    }
+
     /**
      * Configures the line wrap toggle functionality for the syntax editor.
      * <p>
@@ -136,6 +174,9 @@ public class ResponsePanelController {
      * success or error
      * message depending on whether the file was successfully saved or the operation
      * was cancelled.
+     * <p>
+     * Bodies spooled to disk are copied from their spool file as received, without
+     * going through the editor text.
      *
      * @author ASDFG14N
      * @since 07-08-2025
@@ -145,7 +186,6 @@ public class ResponsePanelController {
         final var button = syntaxEditorPanel.getDownloadButton();
 
         button.addActionListener(e -> {
-            String body = syntaxEditorPanel.getSyntaxEditor().getText();
             final var result = FileNativeDialog.show("response", Mode.SAVE);
             if (result != null) {
                 String directory = result.getFirst();
@@ -153,11 +193,21 @@ public class ResponsePanelController {
                 File selectedFile = new File(directory, filename);
                 if (!selectedFile.getName().toLowerCase().endsWith(".json")) {
                     selectedFile = new File(selectedFile.getAbsolutePath() + ".json");
+                }
+                if (current != null && current.body() instanceof FileResponseBody spooled) {
+                    try {
+                        spooled.writeTo(selectedFile.toPath());
+                    } catch (IOException ex) {
+                        MessageDialog.showMessage(Type.ERROR, "Error saving file");
+                        return;
+                    }
+                } else {
+                    String body = syntaxEditorPanel.getSyntaxEditor().getText();
                     AppController.osManager.writeJsonToFile(body, selectedFile.getAbsolutePath());
-                    MessageDialog.showMessage(
-                            Type.SUCCESS,
-                            LangManager.text("app.messageDialog.saved.text"));
                 }
+                MessageDialog.showMessage(
+                        Type.SUCCESS,
+                        LangManager.text("app.messageDialog.saved.text"));
             }
         });
     }
@@ -179,8 +229,9 @@ public class ResponsePanelController {
      * Clears existing header rows, sets the status code, response time, and size,
      * and populates the headers table with sorted header entries. Also updates the
      * tab
-     * title to reflect the number of headers and sets the response body in the
-     * syntax editor.
+     * title to reflect the number of headers and sets the raw response body in the
+     * syntax editor. If the pretty view is selected, the formatted body replaces
+     * the raw text once it has been computed.
      *
      * @param response the {@link Response} object containing status, headers, body,
      *                 duration, and size
@@ -188,11 +239,15 @@ public class ResponsePanelController {
      * @since 07-08-2025
      */
     public void show(Response response) {
+        this.current = response;
         responsePanel.getHeadersTablePanel().getModel().setRowCount(0);
 
         responsePanel.getStatusPanel().setStatus(response.status());
         responsePanel.getStatusPanel().setTime(response.duration());
+        responsePanel.getStatusPanel().setTimings(response.timings());
         responsePanel.getStatusPanel().setSize(response.size());
+        responsePanel.getStatusPanel().setConnection(response.connection());
+        responsePanel.getStatusPanel().setCacheStatus(response.cacheStatus());
 
         response.headers().entrySet().stream()
                 .sorted(Map.Entry.comparingByKey(String.CASE_INSENSITIVE_ORDER))
@@ -206,10 +261,17 @@ public class ResponsePanelController {
         updateTabQueryTitle(response.headers().size());
 
         switch (response.displayType()) {
-            case JSON, XML, YAML, HTML, TEXT, FORM_URL_ENCODED, CSV ->
-                    responsePanel.setTextContentType(response.displayType(), response.body());
+            case JSON, XML, YAML, HTML, TEXT, FORM_URL_ENCODED, CSV -> {
+                responsePanel.setTextContentType(response.displayType(), response.body().chars());
+                syntaxEditorPanel.getPrettyButton().setEnabled(response.pretty() != null);
+                if (response.pretty() == null) {
+                    syntaxEditorPanel.getRawButton().setSelected(true);
+                } else if (syntaxEditorPanel.getPrettyButton().isSelected()) {
+                    showPretty(response);
+                }
+            }
             case IMAGE, PDF, AUDIO, VIDEO ->
-                    responsePanel.setBinaryContentType(response.displayType(), response.bodyBytes());
+                    responsePanel.setBinaryContentType(response.displayType(), response.body());
             default -> {
                 //
             }
@@ -1,5 +1,10 @@
 package com.jrelay.ui.workbech.http;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.SwingUtilities;
+
 import com.jrelay.core.models.response.Response;
 import com.jrelay.ui.components.shared.ClosableTab;
 import com.jrelay.ui.components.shared.WarningMessagePanel;
@@ -10,6 +15,18 @@ public class TabContentHttpController {
         void onStart();
 
         void onFinish();
+
+        /**
+         * Reports how much of the response body has been downloaded so far.
+         * <p>
+         * Invoked from the network thread; implementations must hand the update
+         * to the EDT themselves.
+         *
+         * @param bytesRead     the number of body bytes received
+         * @param contentLength the advertised body length, or {@code -1}
+         */
+        default void onProgress(long bytesRead, long contentLength) {
+        }
     }
 
     private final TabContentHttp tabContentHttp;
@@ -34,8 +51,12 @@ public class TabContentHttpController {
 
     private RequestLifecycle createRequestLifecycle() {
         return new RequestLifecycle() {
+            private final AtomicLong bytesRead = new AtomicLong();
+            private final AtomicBoolean updatePending = new AtomicBoolean();
+
             @Override
             public void onStart() {
+                tabContentHttp.getWaitingPanel().reset();
                 tabContentHttp.setRightComponent(tabContentHttp.getWaitingPanel());
                 requestPanel.getToolbar().changeLoadingButton();
             }
@@ -45,6 +66,17 @@ public class TabContentHttpController {
                 tabContentHttp.setRightComponent(responsePanel);
                 requestPanel.getToolbar().restoreButton();
             }
+
+            @Override
+            public void onProgress(long read, long contentLength) {
+                bytesRead.set(read);
+                if (updatePending.compareAndSet(false, true)) {
+                    SwingUtilities.invokeLater(() -> {
+                        updatePending.set(false);
+                        tabContentHttp.getWaitingPanel().setProgress(bytesRead.get(), contentLength);
+                    });
+                }
+            }
         };
     }
 